@@ -7,6 +7,8 @@ plugins {
     id("com.bakdata.sonatype") version "1.7.1"
     id("com.bakdata.jib") version "1.7.1"
     id("io.freefair.lombok") version "8.11"
+    id("org.graalvm.buildtools.native") version "0.10.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 allprojects {
@@ -40,10 +42,11 @@ configure<com.bakdata.gradle.SonatypeSettings> {
 
 dependencies {
     val kafkaVersion: String by project
-    implementation(group = "org.apache.kafka", name = "connect-json", version = kafkaVersion)
-    implementation(group = "info.picocli", name = "picocli", version = "4.7.6")
+    val picocliVersion = "4.7.6"
+    implementation(group = "info.picocli", name = "picocli", version = picocliVersion)
+    annotationProcessor(group = "info.picocli", name = "picocli-codegen", version = picocliVersion)
     implementation(group = "org.apache.kafka", name = "kafka-clients", version = kafkaVersion)
-    implementation(group = "com.bakdata.seq2", name = "seq2", version = "1.0.12")
+    implementation(group = "com.fasterxml.jackson.core", name = "jackson-databind", version = "2.16.2")
     val log4jVersion = "2.24.3"
     implementation(group = "org.apache.logging.log4j", name = "log4j-slf4j2-impl", version = log4jVersion)
 
@@ -70,3 +73,63 @@ dependencies {
         classifier = "test"
     )
 }
+
+jmh {
+    jmhVersion = "1.37"
+    profilers.add("gc")
+}
+
+tasks.compileJava {
+    // picocli-codegen writes the reflection configuration of all commands to META-INF/native-image
+    options.compilerArgs.add("-Aproject=${project.group}/${project.name}")
+}
+
+graalvmNative {
+    binaries {
+        named("main") {
+            imageName = "kafka-connect-resetter"
+            mainClass = "com.bakdata.kafka.KafkaConnectResetterApplication"
+            buildArgs.add("--no-fallback")
+        }
+    }
+}
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+val endToEndBenchmark by tasks.registering(Test::class) {
+    description = "Measures the throughput of the source and sink resetters against an embedded Kafka cluster."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    outputs.upToDateWhen { false }
+    maxHeapSize = "2g"
+    listOf("benchmark.records", "benchmark.connectors", "benchmark.keys", "benchmark.partitions").forEach { name ->
+        providers.gradleProperty(name).orNull?.let { systemProperty(name, it) }
+    }
+    systemProperty(
+        "benchmark.report",
+        layout.buildDirectory.file("reports/benchmark/reset.json").get().asFile.absolutePath
+    )
+}
+
+val nativeImageTest by tasks.registering(Test::class) {
+    description = "Runs the source and sink resetters using the native image."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    dependsOn(tasks.named("nativeCompile"))
+    filter {
+        includeTestsMatching("com.bakdata.kafka.NativeImageTest")
+    }
+    systemProperty(
+        "native.image.path",
+        layout.buildDirectory.file("native/nativeCompile/kafka-connect-resetter").get().asFile.absolutePath
+    )
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link PartitionRouter#handle(byte[], byte[])}, which is called for every record of
+ * the Kafka Connect offset topic. Keys are generated for many connectors with differently shaped partitions, long
+ * names and escaped characters. The share of keys that belong to the collected connector is configurable to compare
+ * match-heavy and miss-heavy scans. Connectors are selected by a single name, by several names or by a pattern. Run
+ * with {@code ./gradlew jmh}, which also reports allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionRouterBenchmark {
+    private static final int NUM_RECORDS = 100_000;
+    private static final int NUM_CONNECTORS = 200;
+    private static final int NUM_SELECTED_CONNECTORS = 20;
+    private static final String CONNECTOR_NAME = "jdbc-source-orders-\u00e4\"primary\"";
+    // JSON representation of the connector name with escaped characters
+    private static final String ENCODED_CONNECTOR_NAME = "jdbc-source-orders-\\u00e4\\\"primary\\\"";
+    private static final byte[] VALUE = "{\"position\":1234}".getBytes(StandardCharsets.UTF_8);
+    /**
+     * Share of records that belong to the collected connector
+     */
+    @Param({"0.9", "0.1"})
+    private double matchRatio;
+    /**
+     * How connectors are selected: {@code name} selects the collected connector only, {@code names} selects it among
+     * other connectors that are also contained in the offset topic, and {@code pattern} matches its name with a
+     * regular expression
+     */
+    @Param({"name", "names", "pattern"})
+    private String selection;
+    private byte[][] keys;
+    private byte[][] values;
+    private PartitionRouter router;
+
+    private static String createConnectorName(final Random random, final int index) {
+        return switch (index % 4) {
+            case 0 -> "jdbc-source-orders-" + index;
+            // shares a long prefix with the collected connector
+            case 1 -> "jdbc-source-orders-\\u00e4\\\"primary\\\"-" + index;
+            case 2 -> "debezium-" + "postgres-".repeat(1 + random.nextInt(8)) + index;
+            default -> "file-source-\\\\share\\\\" + index;
+        };
+    }
+
+    private static String createPartition(final Random random, final int index) {
+        return switch (random.nextInt(4)) {
+            case 0 -> "{\"filename\":\"/data/import/" + index + ".csv\"}";
+            case 1 -> "{\"protocol\":\"1\",\"table\":\"shop.orders_" + index + "\",\"server\":\"db-"
+                    + random.nextInt(16) + "\"}";
+            case 2 -> "{\"kafka_topic\":\"topic-" + index + "\",\"kafka_partition\":" + random.nextInt(64)
+                    + ",\"kafka_offset\":null}";
+            default -> "{\"query\":\"SELECT * FROM \\\"orders\\\" WHERE id > ?\",\"shards\":[" + index + ",{\"nested\":"
+                    + "[true,false,1.5e3]}],\"region\":\"eu-\\u00fc" + random.nextInt(4) + "\"}";
+        };
+    }
+
+    private static byte[] createKey(final String connectorName, final String partition) {
+        return ("[\"" + connectorName + "\"," + partition + "]").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Trial)
+    public void generateRecords() {
+        final Random random = new Random(42L);
+        final List<String> connectorNames = new ArrayList<>();
+        for (int i = 0; i < NUM_CONNECTORS; i++) {
+            connectorNames.add(createConnectorName(random, i));
+        }
+        this.keys = new byte[NUM_RECORDS][];
+        this.values = new byte[NUM_RECORDS][];
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            // partitions repeat like in an uncompacted offset topic
+            final String partition = createPartition(random, random.nextInt(NUM_RECORDS / 10));
+            final String connectorName = random.nextDouble() < this.matchRatio ? ENCODED_CONNECTOR_NAME
+                    : connectorNames.get(random.nextInt(NUM_CONNECTORS));
+            this.keys[i] = createKey(connectorName, partition);
+            this.values[i] = random.nextInt(20) == 0 ? null : VALUE;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createRouter() {
+        final PartitionRouter.PartitionRouterBuilder builder = PartitionRouter.builder();
+        switch (this.selection) {
+            case "name" -> builder.connectorName(CONNECTOR_NAME);
+            case "names" -> {
+                builder.connectorName(CONNECTOR_NAME);
+                // names without escaped characters, see createConnectorName
+                for (int i = 0; i < NUM_SELECTED_CONNECTORS; i++) {
+                    builder.connectorName("jdbc-source-orders-" + 4 * i);
+                }
+            }
+            case "pattern" -> builder.connectorPattern(Pattern.compile(Pattern.quote(CONNECTOR_NAME)));
+            default -> throw new IllegalArgumentException("Unknown connector selection: " + this.selection);
+        }
+        this.router = builder.build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_RECORDS)
+    public int handle() {
+        int matched = 0;
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            if (this.router.handle(this.keys[i], this.values[i])) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_RECORDS)
+    public int extractConnectorName() {
+        int length = 0;
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            length += ConnectorNameExtractor.extractConnectorName(OffsetKeyParser.parse(this.keys[i])).length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of byte arrays that compares its elements by content. Elements are stored in an open addressing hash table with
+ * linear probing. The arrays are neither copied nor decoded, and the hash of each element is cached to avoid
+ * rehashing when the table grows.
+ */
+final class ByteArraySet extends AbstractCollection<byte[]> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.7;
+    private byte[][] elements = new byte[INITIAL_CAPACITY][];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private static int hash(final byte[] bytes) {
+        final int h = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public boolean add(final byte[] bytes) {
+        final int hash = hash(bytes);
+        final int index = this.indexOf(bytes, hash);
+        if (this.elements[index] != null) {
+            return false;
+        }
+        this.elements[index] = bytes;
+        this.hashes[index] = hash;
+        this.size++;
+        if (this.size > this.elements.length * LOAD_FACTOR) {
+            this.resize();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        if (!(o instanceof byte[])) {
+            return false;
+        }
+        final byte[] bytes = (byte[]) o;
+        return this.elements[this.indexOf(bytes, hash(bytes))] != null;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (!(o instanceof byte[])) {
+            return false;
+        }
+        final byte[] bytes = (byte[]) o;
+        int index = this.indexOf(bytes, hash(bytes));
+        if (this.elements[index] == null) {
+            return false;
+        }
+        this.elements[index] = null;
+        this.size--;
+        // shift back subsequent elements of the probe sequence so that no gap is left
+        final int mask = this.elements.length - 1;
+        int next = (index + 1) & mask;
+        while (this.elements[next] != null) {
+            final int home = this.hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                this.elements[index] = this.elements[next];
+                this.hashes[index] = this.hashes[next];
+                this.elements[next] = null;
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<byte[]> iterator() {
+        return new ElementIterator();
+    }
+
+    /**
+     * Find the slot that contains the given element or the empty slot where it should be inserted
+     */
+    private int indexOf(final byte[] bytes, final int hash) {
+        final int mask = this.elements.length - 1;
+        int index = hash & mask;
+        while (this.elements[index] != null
+                && (this.hashes[index] != hash || !Arrays.equals(this.elements[index], bytes))) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        final byte[][] oldElements = this.elements;
+        final int[] oldHashes = this.hashes;
+        this.elements = new byte[oldElements.length * 2][];
+        this.hashes = new int[oldElements.length * 2];
+        final int mask = this.elements.length - 1;
+        for (int i = 0; i < oldElements.length; i++) {
+            if (oldElements[i] != null) {
+                int index = oldHashes[i] & mask;
+                while (this.elements[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                this.elements[index] = oldElements[i];
+                this.hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    private final class ElementIterator implements Iterator<byte[]> {
+        private int index = this.advance(0);
+
+        private int advance(final int start) {
+            int i = start;
+            while (i < ByteArraySet.this.elements.length && ByteArraySet.this.elements[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < ByteArraySet.this.elements.length;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final byte[] element = ByteArraySet.this.elements[this.index];
+            this.index = this.advance(this.index + 1);
+            return element;
+        }
+    }
+}
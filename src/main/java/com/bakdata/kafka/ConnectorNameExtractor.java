@@ -24,35 +24,24 @@
 
 package com.bakdata.kafka;
 
-import java.util.List;
-import java.util.Optional;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 class ConnectorNameExtractor {
-    String extractConnectorName(final Object o) {
-        if (o instanceof List) {
-            final List<Object> value = (List<Object>) o;
-            if (value.isEmpty()) {
+    String extractConnectorName(final OffsetKey key) {
+        if (key.getType() == JsonType.ARRAY) {
+            final JsonType first = key.getFirstElementType();
+            if (first == null) {
                 throw new IllegalArgumentException("Expected at least one element");
             } else {
-                final Object first = value.get(0);
-                if (first instanceof String) {
-                    return (String) first;
+                if (first == JsonType.STRING) {
+                    return key.decodeName();
                 } else {
-                    throw new IllegalArgumentException(
-                            "Expected first element to be string but got " + getClass(first));
+                    throw new IllegalArgumentException("Expected first element to be string but got " + first);
                 }
             }
         } else {
-            throw new IllegalArgumentException("Expected record to be a list but got " + getClass(o));
+            throw new IllegalArgumentException("Expected record to be a list but got " + key.getType());
         }
     }
-
-    private String getClass(final Object o) {
-        return Optional.ofNullable(o)
-                .map(Object::getClass)
-                .map(Class::getName)
-                .orElse("null");
-    }
 }
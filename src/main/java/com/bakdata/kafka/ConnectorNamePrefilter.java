@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+import lombok.NonNull;
+
+/**
+ * Checks on the raw bytes of a Kafka Connect offset key whether it might belong to one of several connectors. Offset
+ * keys are JSON arrays starting with the connector name, e.g., {@code ["connector-name", {...}]}. The leading JSON
+ * string is decoded on the fly, including escape sequences, and its hash code is computed the same way as
+ * {@link String#hashCode()} without creating a {@code String}. A key is only rejected if this hash code differs from
+ * the hash codes of all connector names, i.e., if it definitely starts with a different connector name. All other
+ * keys, including malformed ones, are candidates that need to be parsed completely.
+ *
+ * <p>No objects are allocated per key and the hash code is looked up in a sorted array, so the cost of rejecting a key
+ * does not depend on the number of connectors.</p>
+ */
+final class ConnectorNamePrefilter implements Predicate<byte[]> {
+    /**
+     * Result of decoding the closing quote of a JSON string
+     */
+    private static final long END = -1L;
+    /**
+     * Result of decoding a character that is not well-formed
+     */
+    private static final long MALFORMED = -2L;
+    private final int[] hashCodes;
+
+    ConnectorNamePrefilter(final @NonNull Collection<String> connectorNames) {
+        this.hashCodes = connectorNames.stream()
+                .mapToInt(String::hashCode)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static int skipWhitespace(final byte[] bytes, final int position) {
+        int i = position;
+        while (i < bytes.length && isWhitespace(bytes[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int hexValue(final byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int continuation(final byte b) {
+        return (b & 0xC0) == 0x80 ? b & 0x3F : -1;
+    }
+
+    /**
+     * Find the first character of the leading JSON string, i.e., the position after its opening quote
+     *
+     * @return position of the first character or -1 if the key does not start with a JSON string
+     */
+    private static int findNameStart(final byte[] bytes) {
+        if (bytes == null) {
+            return -1;
+        }
+        int i = skipWhitespace(bytes, 0);
+        if (i >= bytes.length || bytes[i] != '[') {
+            return -1;
+        }
+        i = skipWhitespace(bytes, i + 1);
+        if (i >= bytes.length || bytes[i] != '"') {
+            return -1;
+        }
+        return i + 1;
+    }
+
+    private static long pack(final int codePoint, final int next) {
+        return (long) codePoint << 32 | next;
+    }
+
+    /**
+     * Decode the character of a JSON string at a position. Surrogate pairs are decoded as two separate UTF-16 code
+     * units if they are escaped.
+     *
+     * @return code point in the upper 32 bits and position of the next character in the lower 32 bits, {@link #END}
+     * at the closing quote or {@link #MALFORMED} if the character is not well-formed
+     */
+    private static long decodeCodePoint(final byte[] bytes, final int position) {
+        if (position >= bytes.length) {
+            return MALFORMED;
+        }
+        final byte b = bytes[position];
+        if (b == '"') {
+            return END;
+        }
+        if (b == '\\') {
+            return decodeEscape(bytes, position);
+        }
+        if (b >= 0) {
+            return pack(b, position + 1);
+        }
+        if ((b & 0xE0) == 0xC0 && position + 1 < bytes.length) {
+            final int c1 = continuation(bytes[position + 1]);
+            return c1 < 0 ? MALFORMED : pack(((b & 0x1F) << 6) | c1, position + 2);
+        }
+        if ((b & 0xF0) == 0xE0 && position + 2 < bytes.length) {
+            final int c1 = continuation(bytes[position + 1]);
+            final int c2 = continuation(bytes[position + 2]);
+            return c1 < 0 || c2 < 0 ? MALFORMED : pack(((b & 0x0F) << 12) | (c1 << 6) | c2, position + 3);
+        }
+        if ((b & 0xF8) == 0xF0 && position + 3 < bytes.length) {
+            final int c1 = continuation(bytes[position + 1]);
+            final int c2 = continuation(bytes[position + 2]);
+            final int c3 = continuation(bytes[position + 3]);
+            return c1 < 0 || c2 < 0 || c3 < 0 ? MALFORMED
+                    : pack(((b & 0x07) << 18) | (c1 << 12) | (c2 << 6) | c3, position + 4);
+        }
+        return MALFORMED;
+    }
+
+    private static long decodeEscape(final byte[] bytes, final int position) {
+        if (position + 1 >= bytes.length) {
+            return MALFORMED;
+        }
+        final byte escaped = bytes[position + 1];
+        final int next = position + 2;
+        return switch (escaped) {
+            case '"', '\\', '/' -> pack(escaped, next);
+            case 'b' -> pack('\b', next);
+            case 'f' -> pack('\f', next);
+            case 'n' -> pack('\n', next);
+            case 'r' -> pack('\r', next);
+            case 't' -> pack('\t', next);
+            case 'u' -> decodeUnicodeEscape(bytes, next);
+            default -> MALFORMED;
+        };
+    }
+
+    private static long decodeUnicodeEscape(final byte[] bytes, final int start) {
+        if (start + 4 > bytes.length) {
+            return MALFORMED;
+        }
+        int value = 0;
+        for (int i = start; i < start + 4; i++) {
+            final int digit = hexValue(bytes[i]);
+            if (digit < 0) {
+                return MALFORMED;
+            }
+            value = (value << 4) | digit;
+        }
+        return pack(value, start + 4);
+    }
+
+    private static int updateHashCode(final int hashCode, final int codePoint) {
+        if (Character.isBmpCodePoint(codePoint)) {
+            return 31 * hashCode + codePoint;
+        }
+        return 31 * (31 * hashCode + Character.highSurrogate(codePoint)) + Character.lowSurrogate(codePoint);
+    }
+
+    @Override
+    public boolean test(final byte[] bytes) {
+        final int start = findNameStart(bytes);
+        if (start < 0) {
+            return true;
+        }
+        int hashCode = 0;
+        long decoded = decodeCodePoint(bytes, start);
+        while (decoded != END) {
+            if (decoded == MALFORMED) {
+                // decoding errors make the key a candidate so that the full parser can report them
+                return true;
+            }
+            hashCode = updateHashCode(hashCode, (int) (decoded >>> 32));
+            decoded = decodeCodePoint(bytes, (int) decoded);
+        }
+        return Arrays.binarySearch(this.hashCodes, hashCode) >= 0;
+    }
+}
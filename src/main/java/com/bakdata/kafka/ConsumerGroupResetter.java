@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.DeleteConsumerGroupsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.GroupIdNotFoundException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+
+/**
+ * Resets or deletes the consumer groups of Kafka Connect sink connectors using an {@link Admin} client. The client is
+ * not owned by this class and is not closed, so that a single client can be reused for many resets.
+ */
+@Slf4j
+@Builder
+final class ConsumerGroupResetter {
+    static final String CONSUMER_GROUP_PREFIX = "connect-";
+    private final @NonNull Admin adminClient;
+    /**
+     * Maximum number of consumer groups whose offsets are altered concurrently
+     */
+    private final int parallelism;
+    /**
+     * Metrics to report altered partitions to. May be {@code null}.
+     */
+    private final ResetMetrics metrics;
+
+    private static <T> T get(final KafkaFuture<T> future, final String errorMessage) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResetterException(errorMessage, e);
+        } catch (final ExecutionException e) {
+            throw new ResetterException(errorMessage, e);
+        }
+    }
+
+    private static long lookupOffset(final TopicPartition topicPartition,
+            final KafkaFuture<ListOffsetsResultInfo> future) {
+        try {
+            return future.get().offset();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResetterException("Failed to list offsets", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof UnknownTopicOrPartitionException) {
+                log.warn("Partition {} does not exist, resetting it to 0", topicPartition);
+                return 0L;
+            }
+            throw new ResetterException("Failed to list offsets", e);
+        }
+    }
+
+    private static void acquire(final Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResetterException("Failed to alter consumer group offsets", e);
+        }
+    }
+
+    private static void awaitDeletion(final String consumerGroupID, final KafkaFuture<Void> deletion) {
+        try {
+            deletion.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResetterException("Failed to delete consumer group", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof GroupIdNotFoundException) {
+                log.info("Consumer group {} does not exist, no need to delete it.", consumerGroupID);
+                return;
+            }
+            throw new ResetterException("Failed to delete consumer group", e);
+        }
+        log.info("Deleted consumer group {}", consumerGroupID);
+    }
+
+    /**
+     * Find the consumer groups of the given connectors and of all connectors matching a pattern
+     *
+     * @param connectorNames names of connectors
+     * @param connectorPattern pattern matching connector names. May be {@code null}.
+     * @return consumer group ids
+     */
+    Collection<String> findConsumerGroups(final Collection<String> connectorNames, final Pattern connectorPattern) {
+        final Set<String> consumerGroupIDs = new LinkedHashSet<>();
+        connectorNames.forEach(connectorName -> consumerGroupIDs.add(CONSUMER_GROUP_PREFIX + connectorName));
+        if (connectorPattern != null) {
+            final Collection<ConsumerGroupListing> listings =
+                    get(this.adminClient.listConsumerGroups().all(), "Failed to list consumer groups");
+            listings.stream()
+                    .map(ConsumerGroupListing::groupId)
+                    .filter(groupId -> groupId.startsWith(CONSUMER_GROUP_PREFIX))
+                    .filter(groupId -> connectorPattern.matcher(groupId.substring(CONSUMER_GROUP_PREFIX.length()))
+                            .matches())
+                    .forEach(consumerGroupIDs::add);
+        }
+        return consumerGroupIDs;
+    }
+
+    /**
+     * Determine the offsets consumer groups would be reset to without altering them. Committed offsets of partitions
+     * that are not selected are left unchanged.
+     *
+     * @param consumerGroupIDs consumer groups to reset
+     * @param resetTarget position to reset the consumer groups to
+     * @param selection predicate selecting the partitions to reset
+     * @return new offsets of each consumer group that has committed offsets for selected partitions
+     */
+    Map<String, Map<TopicPartition, OffsetAndMetadata>> planOffsets(final Collection<String> consumerGroupIDs,
+            final ResetTarget resetTarget, final Predicate<? super TopicPartition> selection) {
+        final Map<String, Map<TopicPartition, OffsetAndMetadata>> offsets = new LinkedHashMap<>();
+        this.listConsumerGroupOffsets(consumerGroupIDs).forEach((consumerGroupID, committedOffsets) -> {
+            final Map<TopicPartition, OffsetAndMetadata> selectedOffsets = new HashMap<>();
+            committedOffsets.forEach((topicPartition, committed) -> {
+                if (selection.test(topicPartition)) {
+                    selectedOffsets.put(topicPartition, committed);
+                }
+            });
+            if (selectedOffsets.size() < committedOffsets.size()) {
+                log.info("Resetting {} of {} partitions of consumer group {}", selectedOffsets.size(),
+                        committedOffsets.size(), consumerGroupID);
+            }
+            offsets.put(consumerGroupID, selectedOffsets);
+        });
+        final Set<TopicPartition> topicPartitions = new LinkedHashSet<>();
+        offsets.values().forEach(groupOffsets -> topicPartitions.addAll(groupOffsets.keySet()));
+        final Map<TopicPartition, Long> targetOffsets = topicPartitions.isEmpty() ? Map.of()
+                : this.resolveOffsets(topicPartitions, resetTarget);
+        final Map<String, Map<TopicPartition, OffsetAndMetadata>> plan = new LinkedHashMap<>();
+        for (final Entry<String, Map<TopicPartition, OffsetAndMetadata>> groupOffsets : offsets.entrySet()) {
+            final String consumerGroupID = groupOffsets.getKey();
+            if (groupOffsets.getValue().isEmpty()) {
+                log.info("Consumer group {} has no committed offsets for the selected partitions, no need to reset it.",
+                        consumerGroupID);
+                continue;
+            }
+            final Map<TopicPartition, OffsetAndMetadata> newOffsets = new HashMap<>();
+            groupOffsets.getValue().forEach((topicPartition, committed) -> {
+                final long offset = targetOffsets.get(topicPartition);
+                log.info("Offset of group {} for partition {} on topic {} changes from {} to {}", consumerGroupID,
+                        topicPartition.partition(), topicPartition.topic(),
+                        committed == null ? null : committed.offset(), offset);
+                newOffsets.put(topicPartition, new OffsetAndMetadata(offset));
+            });
+            plan.put(consumerGroupID, newOffsets);
+        }
+        return plan;
+    }
+
+    /**
+     * Alter the committed offsets of consumer groups
+     *
+     * @param plan new offsets of each consumer group
+     */
+    void alterOffsets(final Map<String, Map<TopicPartition, OffsetAndMetadata>> plan) {
+        final Semaphore permits = new Semaphore(this.parallelism);
+        final Map<String, KafkaFuture<Void>> results = new LinkedHashMap<>();
+        for (final Entry<String, Map<TopicPartition, OffsetAndMetadata>> groupOffsets : plan.entrySet()) {
+            final String consumerGroupID = groupOffsets.getKey();
+            final Map<TopicPartition, OffsetAndMetadata> newOffsets = groupOffsets.getValue();
+            log.info("Resetting consumer group offsets for group {}", consumerGroupID);
+            acquire(permits);
+            final KafkaFuture<Void> result =
+                    this.adminClient.alterConsumerGroupOffsets(consumerGroupID, newOffsets).all();
+            result.whenComplete((ignored, error) -> {
+                permits.release();
+                if (error == null && this.metrics != null) {
+                    this.metrics.consumerGroupPartitionsAltered(newOffsets.size());
+                }
+            });
+            results.put(consumerGroupID, result);
+        }
+        results.forEach((consumerGroupID, result) -> {
+            get(result, "Failed to alter consumer group offsets");
+            log.info("Reset consumer group offsets for group {}", consumerGroupID);
+        });
+    }
+
+    /**
+     * Delete consumer groups. Groups that do not exist are ignored.
+     *
+     * @param consumerGroupIDs consumer groups to delete
+     */
+    void deleteConsumerGroups(final Collection<String> consumerGroupIDs) {
+        log.info("Deleting consumer groups {}", consumerGroupIDs);
+        final DeleteConsumerGroupsResult deleteConsumerGroupsResult =
+                this.adminClient.deleteConsumerGroups(consumerGroupIDs);
+        deleteConsumerGroupsResult.deletedGroups().forEach(ConsumerGroupResetter::awaitDeletion);
+    }
+
+    private Map<String, Map<TopicPartition, OffsetAndMetadata>> listConsumerGroupOffsets(
+            final Collection<String> consumerGroupIDs) {
+        final Map<String, ListConsumerGroupOffsetsSpec> specs = new LinkedHashMap<>();
+        consumerGroupIDs.forEach(consumerGroupID -> specs.put(consumerGroupID, new ListConsumerGroupOffsetsSpec()));
+        return get(this.adminClient.listConsumerGroupOffsets(specs).all(), "Failed to list consumer group offsets");
+    }
+
+    private Map<TopicPartition, Long> resolveOffsets(final Collection<TopicPartition> topicPartitions,
+            final ResetTarget resetTarget) {
+        final Map<TopicPartition, Long> offsets =
+                this.listOffsets(topicPartitions, resetTarget.toOffsetSpec(Instant.now()));
+        final Collection<TopicPartition> unmatched = new ArrayList<>();
+        offsets.forEach((topicPartition, offset) -> {
+            if (offset < 0L) {
+                unmatched.add(topicPartition);
+            }
+        });
+        if (!unmatched.isEmpty()) {
+            log.info("No records found after {} for partitions {}, resetting them to latest", resetTarget,
+                    unmatched);
+            offsets.putAll(this.listOffsets(unmatched, OffsetSpec.latest()));
+        }
+        return offsets;
+    }
+
+    private Map<TopicPartition, Long> listOffsets(final Collection<TopicPartition> topicPartitions,
+            final OffsetSpec offsetSpec) {
+        final Map<TopicPartition, OffsetSpec> specs = new HashMap<>();
+        topicPartitions.forEach(topicPartition -> specs.put(topicPartition, offsetSpec));
+        final ListOffsetsResult result = this.adminClient.listOffsets(specs);
+        final Map<TopicPartition, Long> offsets = new HashMap<>();
+        topicPartitions.forEach(topicPartition -> offsets.put(topicPartition,
+                lookupOffset(topicPartition, result.partitionResult(topicPartition))));
+        return offsets;
+    }
+}
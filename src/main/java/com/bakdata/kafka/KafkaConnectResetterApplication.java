@@ -33,8 +33,11 @@ import picocli.CommandLine.Command;
 
 /**
  * This application resets the Kafka Connect connectors. Available commands are {@code source} and {@code sink}.
+ * {@code restore} restores the offsets of source connectors from a backup of a previous reset.
+ * Alternatively, {@code serve} starts a server that accepts source and sink resets over HTTP.
  */
-@Command(subcommands = {KafkaConnectSourceResetter.class, KafkaConnectSinkResetter.class},
+@Command(subcommands = {KafkaConnectSourceResetter.class, KafkaConnectSinkResetter.class,
+        KafkaConnectSourceRestorer.class, KafkaConnectResetterServer.class},
         mixinStandardHelpOptions = true)
 public final class KafkaConnectResetterApplication {
     private static final String ENV_PREFIX = "APP_";
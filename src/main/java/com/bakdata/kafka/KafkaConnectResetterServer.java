@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * This command starts a long-running server that accepts reset requests over HTTP. Kafka clients are created once and
+ * reused for all resets.
+ *
+ * <pre>{@code
+ * Usage: <main class> serve [-hV] --brokers=<brokers> [--host=<host>]
+ *                           [--port=<port>] [--transactional-id=<transactionalId>]
+ *                           [--config=<String=String>[,<String=String>...]]...
+ *       --brokers=<brokers>   List of Kafka brokers
+ *       --config=<String=String>[,<String=String>...]
+ *                             Kafka client and producer configuration properties
+ *   -h, --help                Show this help message and exit.
+ *       --host=<host>         Host name or address to listen on
+ *       --port=<port>         Port to listen on
+ *       --transactional-id=<transactionalId>
+ *                             Transactional id of the producer. Must be unique
+ *                               for each server
+ *   -V, --version             Print version information and exit.
+ * }</pre>
+ *
+ * Resets are requested with {@code POST /source} or {@code POST /sink}. The request body is a JSON array of the
+ * arguments of the respective command, without {@code --brokers}, e.g.,
+ * {@code ["my-connector", "--offset-topic", "connect-offsets"]}. Resets are run one at a time, while
+ * {@code GET /health} is still answered. Options that access files of the server are rejected.
+ */
+@Slf4j
+@Setter
+@Command(name = "serve", mixinStandardHelpOptions = true)
+public final class KafkaConnectResetterServer implements Runnable {
+    @Option(names = "--brokers", description = "List of Kafka brokers", required = true)
+    private String brokers;
+    @Option(names = "--config", description = "Kafka client and producer configuration properties", split = ",")
+    private Map<String, String> config = new HashMap<>();
+    @Option(names = "--host", description = "Host name or address to listen on")
+    private String host = "localhost";
+    @Option(names = "--port", description = "Port to listen on")
+    private int port = 8080;
+    @Option(names = "--transactional-id",
+            description = "Transactional id of the producer. Must be unique for each server")
+    private String transactionalId = "kafka-connect-resetter-server";
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        final Map<String, Object> kafkaConfig = new HashMap<>(this.config);
+        kafkaConfig.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, this.brokers);
+        kafkaConfig.put(ConsumerConfig.CLIENT_ID_CONFIG, this.transactionalId);
+        kafkaConfig.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, this.transactionalId);
+        final ResetterClients clients = new ResetterClients(kafkaConfig);
+        final ResetServer server = this.startServer(clients);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Stopping server");
+            server.close();
+            clients.close();
+            stopped.countDown();
+        }));
+        await(stopped);
+    }
+
+    private ResetServer startServer(final ResetterClients clients) {
+        try {
+            return ResetServer.start(new InetSocketAddress(this.host, this.port), clients, this.brokers);
+        } catch (final IOException e) {
+            clients.close();
+            throw new UncheckedIOException("Failed to start server on " + this.host + ":" + this.port, e);
+        }
+    }
+}
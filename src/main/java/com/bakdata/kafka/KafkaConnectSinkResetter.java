@@ -24,40 +24,97 @@
 
 package com.bakdata.kafka;
 
-import com.bakdata.util.seq2.PairSeq;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.Admin;
-import org.apache.kafka.clients.admin.AdminClient;
-import org.apache.kafka.clients.admin.DeleteConsumerGroupsResult;
-import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
-import org.apache.kafka.common.errors.GroupIdNotFoundException;
-import org.jooq.lambda.tuple.Tuple2;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
 
 /**
- * This command resets or deletes the consumer group of a Kafka Connect sink connector.
+ * This command resets or deletes the consumer groups of Kafka Connect sink connectors.
  *
  * <pre>{@code
- * Usage: <main class> sink [-hV] [--delete-consumer-group] --brokers=<brokers>
+ * Usage: <main class> sink [-hV] [--delete-consumer-group] [--dry-run]
+ *                          [--admin-parallelism=<adminParallelism>]
+ *                          --brokers=<brokers>
+ *                          [--connector-pattern=<connectorPattern>]
+ *                          [--exclude-topics=<excludeTopics>]
+ *                          [--include-topics=<includeTopics>]
+ *                          [--metrics-file=<metricsFile>]
+ *                          [--openmetrics-file=<openMetricsFile>]
+ *                          [--openmetrics-url=<openMetricsUrl>]
+ *                          [--progress-interval=<progressInterval>]
+ *                          [--reset-to=<resetTarget>]
  *                          [--config=<String=String>[,<String=String>...]]...
- *                          <connectorName>
- *       <connectorName>       Connector to reset
+ *                          [--partitions=<partitions>[,<partitions>...]]...
+ *                          [<connectorNames>...]
+ *       [<connectorNames>...] Connectors to select
+ *       --admin-parallelism=<adminParallelism>
+ *                             Maximum number of consumer groups whose offsets are
+ *                               altered concurrently
  *       --brokers=<brokers>   List of Kafka brokers
  *       --config=<String=String>[,<String=String>...]
  *                             Kafka client and producer configuration properties
+ *       --connector-pattern=<connectorPattern>
+ *                             Regular expression matching the names of
+ *                               additional connectors to select
  *       --delete-consumer-group
  *                             Whether to delete the consumer group
+ *       --dry-run             Whether to only determine the new offsets without
+ *                               altering or deleting consumer groups
+ *       --exclude-topics=<excludeTopics>
+ *                             Regular expression matching topics whose offsets are
+ *                               not reset
  *   -h, --help                Show this help message and exit.
+ *       --include-topics=<includeTopics>
+ *                             Regular expression matching the topics whose offsets
+ *                               are reset
+ *       --metrics-file=<metricsFile>
+ *                             File to write a JSON summary of the metrics to
+ *       --openmetrics-file=<openMetricsFile>
+ *                             File to write the metrics to in OpenMetrics text
+ *                               format
+ *       --openmetrics-url=<openMetricsUrl>
+ *                             URL to push the metrics to in Prometheus text
+ *                               format, e.g., of a Prometheus Pushgateway
+ *       --partitions=<partitions>[,<partitions>...]
+ *                             Partitions of the topics whose offsets are reset
+ *       --progress-interval=<progressInterval>
+ *                             Interval in which progress is logged
+ *       --reset-to=<resetTarget>
+ *                             Position to reset the consumer groups to:
+ *                               earliest, latest, an ISO-8601 timestamp or an
+ *                               ISO-8601 duration before now (default: earliest)
  *   -V, --version             Print version information and exit.
  * }</pre>
+ *
+ * Connectors are selected by name and/or by a regular expression matched against the names of all consumer groups
+ * prefixed with {@code connect-}. The committed offsets of all groups are fetched with a single request and the
+ * groups are then altered concurrently, bounded by {@code --admin-parallelism}.
+ *
+ * The target offsets are looked up with a single {@code ListOffsets} request covering the partitions of all groups.
+ * Partitions without a record at or after a requested timestamp are reset to their latest offset.
+ *
+ * With {@code --include-topics}, {@code --exclude-topics} and {@code --partitions}, only the offsets of some topic
+ * partitions are reset. The committed offsets of all other partitions stay unchanged. The offsets of each group are
+ * still altered with a single request. Consumer groups cannot be deleted if only some partitions are selected.
+ *
+ * With {@code --dry-run}, the current and new offset of each partition are logged but the consumer groups are neither
+ * altered nor deleted.
+ *
+ * Consumer group partitions altered and the time spent per phase are reported like for the source resetter, see
+ * {@link KafkaConnectSourceResetter}.
+ *
+ * The admin client is created for each run and closed afterwards. Long-running processes can reuse a single client for
+ * many resets with {@link #reset(Admin)}.
  */
 @Slf4j
 @Setter
@@ -67,64 +124,105 @@ public final class KafkaConnectSinkResetter implements Runnable {
     private SharedOptions sharedOptions;
     @Option(names = "--delete-consumer-group", description = "Whether to delete the consumer group")
     private boolean deleteConsumerGroup;
+    @Option(names = "--admin-parallelism",
+            description = "Maximum number of consumer groups whose offsets are altered concurrently")
+    private int adminParallelism = 8;
+    @Option(names = "--reset-to", converter = ResetTarget.Converter.class,
+            description = "Position to reset the consumer groups to: earliest, latest, an ISO-8601 timestamp or an "
+                    + "ISO-8601 duration before now (default: earliest)")
+    private ResetTarget resetTarget = ResetTarget.EARLIEST;
+    @Option(names = "--dry-run",
+            description = "Whether to only determine the new offsets without altering or deleting consumer groups")
+    private boolean dryRun;
+    @Option(names = "--include-topics",
+            description = "Regular expression matching the topics whose offsets are reset")
+    private Pattern includeTopics;
+    @Option(names = "--exclude-topics",
+            description = "Regular expression matching topics whose offsets are not reset")
+    private Pattern excludeTopics;
+    @Option(names = "--partitions", split = ",",
+            description = "Partitions of the topics whose offsets are reset")
+    private List<Integer> partitions = new ArrayList<>();
+    @Mixin
+    private MetricsOptions metricsOptions;
 
-    private static Tuple2<TopicPartition, OffsetAndMetadata> setOffsetToZero(
-            final TopicPartition topicPartition, final OffsetAndMetadata oldOffsetAndMetadata) {
-        log.info("Setting offset for partition {} on topic {} to 0", topicPartition.partition(),
-                topicPartition.topic());
-        return new Tuple2<>(topicPartition, new OffsetAndMetadata(0));
+    @Override
+    public void run() {
+        final Map<String, Object> properties = this.sharedOptions.createKafkaConfig();
+        try (final Admin adminClient = Admin.create(properties)) {
+            this.reset(adminClient);
+        }
     }
 
-    private static void resetConsumerGroupOffsets(final Admin adminClient, final String consumerGroupID) {
-        final ListConsumerGroupOffsetsResult listConsumerGroupOffsetsResult =
-                adminClient.listConsumerGroupOffsets(consumerGroupID);
-        log.info("Resetting consumer group offsets for group {}", consumerGroupID);
-        try {
-            final Map<TopicPartition, OffsetAndMetadata> topicPartitionOffsetAndMetadataMap =
-                    listConsumerGroupOffsetsResult.partitionsToOffsetAndMetadata().get();
-
-            final Map<TopicPartition, OffsetAndMetadata> newOffsets = PairSeq.seq(topicPartitionOffsetAndMetadataMap)
-                    .mapToPair(KafkaConnectSinkResetter::setOffsetToZero)
-                    .toMap();
-            adminClient.alterConsumerGroupOffsets(consumerGroupID, newOffsets).all().get();
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ResetterException("Failed to alter consumer group offsets", e);
-        } catch (final ExecutionException e) {
-            throw new ResetterException("Failed to alter consumer group offsets", e);
+    /**
+     * Reset or delete the consumer groups of the selected connectors using an existing admin client. The admin client
+     * is not closed.
+     *
+     * @param adminClient admin client to use
+     */
+    void reset(final Admin adminClient) {
+        this.validate();
+        final ResetMetrics metrics = new ResetMetrics();
+        try (final ResetMetricsReporter ignored = this.metricsOptions.createReporter(metrics, "sink", Map::of)) {
+            this.reset(adminClient, metrics);
         }
-        log.info("Reset consumer group offsets for group {}", consumerGroupID);
     }
 
-    private static void deleteConsumerGroup(final Admin adminClient, final String consumerGroupID) {
-        log.info("Deleting consumer group {}", consumerGroupID);
-        final DeleteConsumerGroupsResult deleteConsumerGroupsResult =
-                adminClient.deleteConsumerGroups(List.of(consumerGroupID));
-        try {
-            deleteConsumerGroupsResult.all().get();
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ResetterException("Failed to delete consumer group", e);
-        } catch (final ExecutionException e) {
-            if (e.getCause() instanceof GroupIdNotFoundException) {
-                log.info("Consumer group {} does not exist, no need to delete it.", consumerGroupID);
-                return;
-            }
-            throw new ResetterException("Failed to delete consumer group", e);
+    /**
+     * Check that the given options can be combined
+     *
+     * @throws IllegalArgumentException if the options are invalid
+     */
+    void validate() {
+        this.sharedOptions.validateConnectorSelection();
+        if (this.adminParallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Admin parallelism must be positive but was " + this.adminParallelism);
+        }
+        if (this.deleteConsumerGroup && this.selectsPartitions()) {
+            throw new IllegalArgumentException(
+                    "Consumer groups cannot be deleted when only some of their topics or partitions are selected");
         }
-        log.info("Deleted consumer group {}", consumerGroupID);
     }
 
-    @Override
-    public void run() {
-        final Map<String, Object> properties = this.sharedOptions.createKafkaConfig();
-        final Admin adminClient = AdminClient.create(properties);
-        final String consumerGroupID = "connect-" + this.sharedOptions.getConnectorName();
+    private void reset(final Admin adminClient, final ResetMetrics metrics) {
+        final ConsumerGroupResetter resetter = ConsumerGroupResetter.builder()
+                .adminClient(adminClient)
+                .parallelism(this.adminParallelism)
+                .metrics(metrics)
+                .build();
+        final Collection<String> consumerGroupIDs = metrics.time("find", () -> resetter.findConsumerGroups(
+                this.sharedOptions.getConnectorNames(), this.sharedOptions.getConnectorPattern()));
+        if (consumerGroupIDs.isEmpty()) {
+            log.info("No consumer groups found");
+            return;
+        }
 
         if (this.deleteConsumerGroup) {
-            deleteConsumerGroup(adminClient, consumerGroupID);
+            if (this.dryRun) {
+                log.info("Dry run: not deleting consumer groups {}", consumerGroupIDs);
+                return;
+            }
+            metrics.time("delete", () -> resetter.deleteConsumerGroups(consumerGroupIDs));
         } else {
-            resetConsumerGroupOffsets(adminClient, consumerGroupID);
+            final Map<String, Map<TopicPartition, OffsetAndMetadata>> plan =
+                    metrics.time("plan",
+                            () -> resetter.planOffsets(consumerGroupIDs, this.resetTarget, this::isSelected));
+            if (this.dryRun) {
+                log.info("Dry run: not altering offsets of consumer groups {}", plan.keySet());
+                return;
+            }
+            metrics.time("alter", () -> resetter.alterOffsets(plan));
         }
     }
+
+    private boolean selectsPartitions() {
+        return this.includeTopics != null || this.excludeTopics != null || !this.partitions.isEmpty();
+    }
+
+    private boolean isSelected(final TopicPartition topicPartition) {
+        return (this.includeTopics == null || this.includeTopics.matcher(topicPartition.topic()).matches())
+                && (this.excludeTopics == null || !this.excludeTopics.matcher(topicPartition.topic()).matches())
+                && (this.partitions.isEmpty() || this.partitions.contains(topicPartition.partition()));
+    }
 }
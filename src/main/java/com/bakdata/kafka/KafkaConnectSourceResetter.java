@@ -24,35 +24,38 @@
 
 package com.bakdata.kafka;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
-import org.apache.kafka.common.serialization.ByteArrayDeserializer;
-import org.apache.kafka.common.serialization.ByteArraySerializer;
-import org.apache.kafka.common.serialization.Deserializer;
-import org.apache.kafka.common.serialization.Serializer;
-import org.apache.kafka.connect.json.JsonConverter;
-import org.apache.kafka.connect.json.JsonConverterConfig;
-import org.apache.kafka.connect.storage.Converter;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
@@ -62,34 +65,163 @@ import picocli.CommandLine.Mixin;
  * connect offset.
  *
  * <pre>{@code
- * Usage: <main class> source [-hV] --brokers=<brokers>
+ * Usage: <main class> source [-hV] [--compress-backup] [--dry-run] [--streaming]
+ *                            [--apply-manifest=<applyManifest>]
+ *                            [--backup-file=<backupFile>] --brokers=<brokers>
+ *                            [--connector-pattern=<connectorPattern>]
+ *                            [--index-file=<indexFile>]
+ *                            [--manifest-file=<manifestFile>]
+ *                            [--max-records-per-transaction=<maxRecordsPerTransaction>]
+ *                            [--max-seen-partitions=<maxSeenPartitions>]
+ *                            [--metrics-file=<metricsFile>]
  *                            --offset-topic=<offsetTopic>
+ *                            [--openmetrics-file=<openMetricsFile>]
+ *                            [--openmetrics-url=<openMetricsUrl>]
+ *                            [--partition-filter=<partitionFilters>]...
  *                            [--poll-duration=<pollDuration>]
+ *                            [--progress-interval=<progressInterval>]
+ *                            [--scan-threads=<scanThreads>]
+ *                            [--spill-directory=<spillDirectory>]
+ *                            [--spill-threshold=<spillThreshold>]
  *                            [--config=<String=String>[,<String=String>...]]...
- *                            <connectorName>
- *       <connectorName>       Connector to reset
+ *                            [<connectorNames>...]
+ *       [<connectorNames>...] Connectors to select
+ *       --apply-manifest=<applyManifest>
+ *                             Manifest of a dry run whose partitions are reset
+ *                               without scanning the offset topic
+ *       --backup-file=<backupFile>
+ *                             File to write the latest offsets of the reset
+ *                               partitions to before tombstones are sent. All
+ *                               offsets are kept in memory until then
  *       --brokers=<brokers>   List of Kafka brokers
+ *       --compress-backup     Whether to compress the backup with gzip
  *       --config=<String=String>[,<String=String>...]
  *                             Kafka client and producer configuration properties
+ *       --connector-pattern=<connectorPattern>
+ *                             Regular expression matching the names of
+ *                               additional connectors to select
+ *       --dry-run             Whether to only determine the partitions to reset
+ *                               without sending tombstones
  *   -h, --help                Show this help message and exit.
+ *       --index-file=<indexFile>
+ *                             File that stores an index of the offset topic to
+ *                               only read new records in subsequent runs
+ *       --manifest-file=<manifestFile>
+ *                             File to write the partitions to reset to in a dry
+ *                               run
+ *       --max-records-per-transaction=<maxRecordsPerTransaction>
+ *                             Maximum number of tombstones per transaction.
+ *                               Unlimited if not positive
+ *       --max-seen-partitions=<maxSeenPartitions>
+ *                             Number of recently seen partitions per connector and
+ *                               scan worker that are remembered to avoid duplicate
+ *                               tombstones when streaming
+ *       --metrics-file=<metricsFile>
+ *                             File to write a JSON summary of the metrics to
  *       --offset-topic=<offsetTopic>
  *                             Topic where Kafka connect offsets are stored
+ *       --openmetrics-file=<openMetricsFile>
+ *                             File to write the metrics to in OpenMetrics text
+ *                               format
+ *       --openmetrics-url=<openMetricsUrl>
+ *                             URL to push the metrics to in Prometheus text
+ *                               format, e.g., of a Prometheus Pushgateway
+ *       --partition-filter=<partitionFilters>
+ *                             Filter on a field of the source partition:
+ *                               field=value, field^=prefix or field~=regex. Only
+ *                               partitions matching all filters are reset
  *       --poll-duration=<pollDuration>
- *                             Consumer poll duration
+ *                             Maximum duration of a single consumer poll
+ *       --progress-interval=<progressInterval>
+ *                             Interval in which progress is logged
+ *       --scan-threads=<scanThreads>
+ *                             Number of workers that scan disjoint partitions of
+ *                               the offset topic in parallel
+ *       --spill-directory=<spillDirectory>
+ *                             Directory to spill partitions to (default: temporary
+ *                               directory of the system)
+ *       --spill-threshold=<spillThreshold>
+ *                             Estimated number of bytes of partitions kept in
+ *                               memory per connector and scan worker before they
+ *                               are spilled to disk, so memory grows with the
+ *                               number of connectors times --scan-threads.
+ *                               Spilling is disabled if not positive
+ *       --streaming           Whether to send tombstones while scanning the offset
+ *                               topic instead of afterwards. The scan has to
+ *                               complete within transaction.timeout.ms
  *   -V, --version             Print version information and exit.
  * }</pre>
  *
  * Kafka Connect stores offsets for source connectors in a dedicated topic. The key of such an offset consists of the
  * connector name and a connector specific partition name, e.g.,
  * {@code ["connector-name", { some-source-specific -data... }] }. This tool finds all partitions belonging to the
- * connector that should be reset and deletes the corresponding offsets.
+ * connector that should be reset and deletes the corresponding offsets. Partitions whose latest offset is already a
+ * tombstone have been reset before and are skipped. Only committed records are read, so tombstones of a reset whose
+ * transaction was aborted do not count.
+ *
+ * <p>The end offsets of all partitions of the offset topic are captured when the scan starts. Each partition is read
+ * until it reaches its captured end offset, so the scan neither waits for an empty poll nor depends on broker
+ * latency. The partitions can be distributed over multiple workers, each with its own consumer, using
+ * {@code --scan-threads}.</p>
+ *
+ * <p>Multiple connectors can be reset at once by passing several connector names and/or a regular expression with
+ * {@code --connector-pattern}. The offset topic is read only once and the offsets of all connectors are reset in a
+ * single transaction.</p>
+ *
+ * <p>By default, all partitions are collected before the tombstones are sent. With {@code --streaming}, the transaction
+ * is started before the scan and a tombstone is sent as soon as a partition is found for the first time. The
+ * transaction is still committed atomically once the scan is complete, so the complete scan has to finish within
+ * {@code transaction.timeout.ms} of the producer. To bound memory, only the {@code --max-seen-partitions} most recently
+ * seen partitions of each connector and scan worker are remembered. A partition that has been forgotten is reset with
+ * another tombstone in the same transaction, which is harmless.</p>
+ *
+ * <p>Very large resets can be split into multiple transactions with {@code --max-records-per-transaction}. This keeps
+ * each transaction within {@code transaction.timeout.ms} and shortens the time that read_committed consumers of the
+ * offset topic are blocked. If a reset fails, the committed transactions are not rolled back, but re-running the reset
+ * only resets the remaining partitions. Chunking cannot be combined with {@code --streaming}, which commits all
+ * tombstones atomically.</p>
+ *
+ * <p>With {@code --index-file}, the live offset keys of the selected connectors and the positions up to which the
+ * offset topic has been read are stored in a local file. Subsequent runs only read the offset topic from these
+ * positions. The index is discarded if a stored position is no longer within the offsets of the topic, e.g., because it
+ * has been recreated, or if it was created for a different connector selection. An index cannot be combined with
+ * {@code --streaming}.</p>
+ *
+ * <p>Records scanned, bytes read, keys matched, the remaining lag per partition of the offset topic, tombstones sent
+ * and acknowledged, and the time spent per phase are exposed as MBean {@code com.bakdata.kafka:type=ResetMetrics}
+ * and logged every {@code --progress-interval}. A JSON summary is written to {@code --metrics-file} when the reset
+ * completes. The metrics and those of the Kafka clients are written to {@code --openmetrics-file} in OpenMetrics text
+ * format and pushed to {@code --openmetrics-url} in Prometheus text format.</p>
+ *
+ * <p>A dry run with {@code --dry-run} scans the offset topic but does not send tombstones. With
+ * {@code --manifest-file}, the offset keys to reset and the end offsets of the scan are written to a
+ * {@link ResetManifest}, which can then be reset with {@code --apply-manifest} without scanning the offset topic
+ * again.</p>
+ *
+ * <p>With {@code --backup-file}, the latest value of each offset key of the reset connectors is kept while scanning and
+ * written to an {@link OffsetSnapshot} before any tombstone is sent. All keys and values of the backup are kept in
+ * memory until then, so the heap has to be sized for the offsets of the reset connectors. The backup can be restored
+ * with the {@code restore} command. A backup requires a full scan and cannot be combined with streaming, an index file
+ * or applying a manifest.</p>
+ *
+ * <p>With {@code --partition-filter}, only some partitions of the connectors are reset, e.g., single tables of a JDBC
+ * connector with {@code --partition-filter table=orders}. Filters are evaluated on the connector specific partition of
+ * each offset key while scanning. They are evaluated on the raw bytes of keys of selected connectors, without
+ * materializing the partition.</p>
+ *
+ * <p>With {@code --spill-threshold}, the memory used to deduplicate partitions is bounded. Once the partitions of a
+ * connector exceed the threshold, they are written to sorted runs in {@code --spill-directory}. The runs are merged
+ * after the scan and the partitions are streamed from disk to the producer. The threshold applies to each connector
+ * and scan worker, so up to the threshold times the number of connectors times {@code --scan-threads} is kept in
+ * memory. Spilling cannot be combined with streaming, an index file, or a backup because they keep all partitions in
+ * memory.</p>
  */
 
 @Slf4j
 @Setter
 @Command(name = "source", mixinStandardHelpOptions = true)
 public final class KafkaConnectSourceResetter implements Runnable {
-    private static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
+    static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
             .appendValue(ChronoField.YEAR, 4)
             .appendValue(ChronoField.MONTH_OF_YEAR, 2)
             .appendValue(ChronoField.DAY_OF_MONTH, 2)
@@ -100,26 +232,112 @@ public final class KafkaConnectSourceResetter implements Runnable {
             .toFormatter();
     @Mixin
     private SharedOptions sharedOptions;
+    @Mixin
+    private MetricsOptions metricsOptions;
     @CommandLine.Option(names = "--offset-topic", description = "Topic where Kafka connect offsets are stored",
             required = true)
     private String offsetTopic;
 
-    @CommandLine.Option(names = "--poll-duration", description = "Consumer poll duration")
+    @CommandLine.Option(names = "--poll-duration", description = "Maximum duration of a single consumer poll")
     private Duration pollDuration = Duration.ofSeconds(10);
 
-    private static Producer<byte[], byte[]> createProducer(final Map<String, Object> kafkaConfig) {
-        final Serializer<byte[]> serializer = new ByteArraySerializer();
-        return new KafkaProducer<>(kafkaConfig, serializer, serializer);
-    }
+    @CommandLine.Option(names = "--scan-threads",
+            description = "Number of workers that scan disjoint partitions of the offset topic in parallel")
+    private int scanThreads = 1;
+
+    @CommandLine.Option(names = "--streaming",
+            description = "Whether to send tombstones while scanning the offset topic instead of afterwards. The scan "
+                    + "has to complete within transaction.timeout.ms")
+    private boolean streaming;
+
+    @CommandLine.Option(names = "--max-seen-partitions",
+            description = "Number of recently seen partitions per connector and scan worker that are remembered to "
+                    + "avoid duplicate tombstones when streaming")
+    private int maxSeenPartitions = 100_000;
+
+    @CommandLine.Option(names = "--max-records-per-transaction",
+            description = "Maximum number of tombstones per transaction. Unlimited if not positive")
+    private long maxRecordsPerTransaction;
+
+    @CommandLine.Option(names = "--index-file",
+            description = "File that stores an index of the offset topic to only read new records in subsequent runs")
+    private Path indexFile;
+
+    @CommandLine.Option(names = "--dry-run",
+            description = "Whether to only determine the partitions to reset without sending tombstones")
+    private boolean dryRun;
+
+    @CommandLine.Option(names = "--manifest-file",
+            description = "File to write the partitions to reset to in a dry run")
+    private Path manifestFile;
+
+    @CommandLine.Option(names = "--apply-manifest",
+            description = "Manifest of a dry run whose partitions are reset without scanning the offset topic")
+    private Path applyManifest;
+
+    @CommandLine.Option(names = "--backup-file",
+            description = "File to write the latest offsets of the reset partitions to before tombstones are sent. "
+                    + "All offsets are kept in memory until then")
+    private Path backupFile;
+
+    @CommandLine.Option(names = "--compress-backup", description = "Whether to compress the backup with gzip")
+    private boolean compressBackup;
+
+    @CommandLine.Option(names = "--partition-filter", converter = PartitionFilter.Converter.class,
+            description = "Filter on a field of the source partition: field=value, field^=prefix or field~=regex. "
+                    + "Only partitions matching all filters are reset")
+    private List<PartitionFilter> partitionFilters = new ArrayList<>();
+
+    @CommandLine.Option(names = "--spill-threshold",
+            description = "Estimated number of bytes of partitions kept in memory per connector and scan worker before "
+                    + "they are spilled to disk, so memory grows with the number of connectors times --scan-threads. "
+                    + "Spilling is disabled if not positive")
+    private long spillThreshold;
+
+    @CommandLine.Option(names = "--spill-directory",
+            description = "Directory to spill partitions to (default: temporary directory of the system)")
+    private Path spillDirectory;
+
+    private Path runDirectory;
 
     private static TopicPartition toTopicPartition(final PartitionInfo partitionInfo) {
         return new TopicPartition(partitionInfo.topic(), partitionInfo.partition());
     }
 
-    private static Converter createConverter(final Map<String, Object> kafkaConfig) {
-        final Converter converter = new JsonConverter();
-        converter.configure(kafkaConfig, true);
-        return converter;
+    private static List<List<TopicPartition>> assignPartitions(final List<TopicPartition> partitions,
+            final int workers) {
+        final int numAssignments = Math.max(1, Math.min(workers, partitions.size()));
+        final List<List<TopicPartition>> assignments = new ArrayList<>(numAssignments);
+        for (int i = 0; i < numAssignments; i++) {
+            assignments.add(new ArrayList<>());
+        }
+        for (int i = 0; i < partitions.size(); i++) {
+            assignments.get(i % numAssignments).add(partitions.get(i));
+        }
+        return assignments;
+    }
+
+    private static PartitionRouter mergeRouters(final Iterable<PartitionRouter> routers) {
+        PartitionRouter merged = null;
+        for (final PartitionRouter router : routers) {
+            if (merged == null) {
+                merged = router;
+            } else {
+                merged.merge(router);
+            }
+        }
+        return merged;
+    }
+
+    private static <T> T await(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResetterException("Failed to scan offset topic", e);
+        } catch (final ExecutionException e) {
+            throw new ResetterException("Failed to scan offset topic", e.getCause());
+        }
     }
 
     @Override
@@ -128,74 +346,356 @@ public final class KafkaConnectSourceResetter implements Runnable {
         final Map<String, Object> kafkaConfig = this.sharedOptions.createKafkaConfig();
         kafkaConfig.put(ConsumerConfig.CLIENT_ID_CONFIG, id);
         kafkaConfig.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, id);
-        kafkaConfig.put(JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, false);
-        final Collection<byte[]> partitions = this.collectPartitions(kafkaConfig);
-        log.info("Found {} partitions for connector {}", partitions.size(), this.sharedOptions.getConnectorName());
-        this.resetPartitions(partitions, kafkaConfig);
-        log.info("Finished resetting {}", this.sharedOptions.getConnectorName());
-    }
-
-
-    private void resetPartitions(final Iterable<byte[]> partitions, final Map<String, Object> kafkaConfig) {
-        try (final Producer<byte[], byte[]> producer = createProducer(kafkaConfig)) {
-            producer.initTransactions();
-            producer.beginTransaction();
-            for (final byte[] partition : partitions) {
-                final ProducerRecord<byte[], byte[]> producerRecord = this.createResetRecord(partition);
-                log.info("Resetting partition {}", new String(partition, StandardCharsets.UTF_8));
-                producer.send(producerRecord);
+        try (final ResetterClients clients = new ResetterClients(kafkaConfig)) {
+            this.reset(clients);
+        }
+    }
+
+    /**
+     * Reset the selected connectors using existing clients. The clients are not closed.
+     *
+     * @param clients clients to use
+     */
+    void reset(final ResetterClients clients) {
+        this.validate();
+        this.runDirectory = this.spillThreshold > 0L ? this.createRunDirectory() : null;
+        try {
+            this.reset(clients, new ResetMetrics());
+        } finally {
+            if (this.runDirectory != null) {
+                SpillingKeySet.deleteDirectory(this.runDirectory);
+            }
+        }
+    }
+
+    /**
+     * Check that the given options can be combined
+     *
+     * @throws IllegalArgumentException if the options are invalid
+     */
+    void validate() {
+        if (this.scanThreads < 1) {
+            throw new IllegalArgumentException("Number of scan threads must be positive but was " + this.scanThreads);
+        }
+        if (this.maxSeenPartitions < 1) {
+            throw new IllegalArgumentException(
+                    "Number of seen partitions must be positive but was " + this.maxSeenPartitions);
+        }
+        if (this.streaming && this.maxRecordsPerTransaction > 0L) {
+            throw new IllegalArgumentException("Streaming cannot be combined with a maximum number of records per "
+                    + "transaction because it commits all tombstones atomically at the end");
+        }
+        if (this.streaming && this.indexFile != null) {
+            throw new IllegalArgumentException("Streaming cannot be combined with an index file");
+        }
+        this.validateManifestOptions();
+        this.validateBackupOptions();
+        if (this.spillThreshold > 0L && this.streaming) {
+            throw new IllegalArgumentException("Spilling partitions to disk cannot be combined with streaming");
+        }
+        if (this.spillThreshold > 0L && this.indexFile != null) {
+            throw new IllegalArgumentException("Spilling partitions to disk cannot be combined with an index file "
+                    + "because the index keeps all partitions in memory");
+        }
+        if (this.spillThreshold > 0L && this.backupFile != null) {
+            throw new IllegalArgumentException("Spilling partitions to disk cannot be combined with a backup "
+                    + "because the backup keeps all offsets in memory");
+        }
+    }
+
+    private void reset(final ResetterClients clients, final ResetMetrics metrics) {
+        try (final ResetMetricsReporter reporter = this.metricsOptions.createReporter(metrics, "source",
+                clients::metrics)) {
+            if (this.applyManifest != null) {
+                metrics.time("produce", () -> this.resetPartitionsFromManifest(clients, metrics));
+                return;
+            }
+            final Collection<PartitionCollector> collectors;
+            if (this.streaming) {
+                collectors = this.resetPartitionsWhileScanning(clients, metrics);
+            } else {
+                final Map<TopicPartition, Long> endOffsets = new ConcurrentHashMap<>();
+                final OffsetSnapshot backup = this.backupFile == null ? null : new OffsetSnapshot();
+                final PartitionRouter router = metrics.time("scan",
+                        () -> this.indexFile == null
+                                ? this.collectPartitions(clients, null, metrics, endOffsets, backup)
+                                : this.collectPartitionsWithIndex(clients, metrics, endOffsets));
+                collectors = router.getCollectors();
+                collectors.forEach(collector -> log.info("Found {} partitions for connector {}",
+                        collector.getPartitions().size(), collector.getConnectorName()));
+                if (backup != null) {
+                    metrics.time("backup", () -> backup.write(this.backupFile, this.offsetTopic, this.compressBackup));
+                }
+                if (this.dryRun) {
+                    this.completeDryRun(collectors, endOffsets);
+                    return;
+                }
+                metrics.time("produce", () -> this.resetPartitions(collectors, clients.getProducer(), metrics));
+            }
+            collectors.forEach(collector -> log.info("Finished resetting {}", collector.getConnectorName()));
+        }
+    }
+
+    private Path createRunDirectory() {
+        final Path directory = this.spillDirectory != null ? this.spillDirectory
+                : Path.of(System.getProperty("java.io.tmpdir"));
+        try {
+            return Files.createTempDirectory(directory, "kafka-connect-resetter-");
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to create spill directory in " + directory, e);
+        }
+    }
+
+    private void validateManifestOptions() {
+        if (this.dryRun && this.streaming) {
+            throw new IllegalArgumentException("A dry run cannot be combined with streaming");
+        }
+        if (this.manifestFile != null && !this.dryRun) {
+            throw new IllegalArgumentException("A manifest file can only be written in a dry run");
+        }
+        if (this.applyManifest == null) {
+            this.sharedOptions.validateConnectorSelection();
+            return;
+        }
+        if (this.dryRun || this.streaming || this.indexFile != null) {
+            throw new IllegalArgumentException(
+                    "Applying a manifest cannot be combined with a dry run, streaming or an index file");
+        }
+        if (!this.sharedOptions.getConnectorNames().isEmpty() || this.sharedOptions.getConnectorPattern() != null
+                || !this.partitionFilters.isEmpty()) {
+            throw new IllegalArgumentException("Connectors and partitions cannot be selected when applying a manifest "
+                    + "because it determines the partitions");
+        }
+    }
+
+    private void validateBackupOptions() {
+        if (this.backupFile == null) {
+            if (this.compressBackup) {
+                throw new IllegalArgumentException("Compression requires a backup file");
             }
-            producer.commitTransaction();
+            return;
+        }
+        if (this.streaming || this.indexFile != null || this.applyManifest != null) {
+            throw new IllegalArgumentException(
+                    "A backup cannot be combined with streaming, an index file or applying a manifest");
         }
     }
 
-    private Collection<byte[]> collectPartitions(final Map<String, Object> kafkaConfig) {
-        final Converter converter = createConverter(kafkaConfig);
-        final PartitionCollector collector = PartitionCollector.builder()
-                .converter(converter)
-                .topicName(this.offsetTopic)
-                .connectorName(this.sharedOptions.getConnectorName())
+    private void completeDryRun(final Iterable<PartitionCollector> collectors,
+            final Map<TopicPartition, Long> endOffsets) {
+        for (final PartitionCollector collector : collectors) {
+            log.info("Dry run: not resetting {} partitions of connector {}", collector.getPartitions().size(),
+                    collector.getConnectorName());
+            collector.getPartitions().forEach(key -> log.debug("Dry run: not resetting partition {} of connector {}",
+                    new String(key, StandardCharsets.UTF_8), collector.getConnectorName()));
+        }
+        if (this.manifestFile != null) {
+            ResetManifest.write(this.manifestFile, this.offsetTopic, endOffsets, collectors);
+        }
+    }
+
+    private void resetPartitionsFromManifest(final ResetterClients clients, final ResetMetrics metrics) {
+        try (final ResetManifest manifest = ResetManifest.open(this.applyManifest)) {
+            if (!this.offsetTopic.equals(manifest.getTopic())) {
+                throw new IllegalArgumentException(
+                        String.format("Manifest %s was created for topic '%s' but offset topic is '%s'",
+                                this.applyManifest, manifest.getTopic(), this.offsetTopic));
+            }
+            final KafkaConsumer<byte[], byte[]> consumer = clients.getConsumers(1).get(0);
+            final Map<TopicPartition, Long> endOffsets =
+                    consumer.endOffsets(this.partitionsForOffsetTopic(consumer));
+            if (!endOffsets.equals(manifest.getEndOffsets())) {
+                log.warn("Offset topic {} has changed since manifest {} was created. Current end offsets are {} but "
+                                + "manifest was created up to {}. Partitions written afterwards are not reset.",
+                        this.offsetTopic, this.applyManifest, endOffsets, manifest.getEndOffsets());
+            }
+            final Map<String, Long> partitionsPerConnector = new LinkedHashMap<>();
+            final OffsetWriter writer = this.createWriter(clients.getProducer(), metrics);
+            writer.begin();
+            try {
+                manifest.forEachKey((connector, key) -> {
+                    writer.send(key);
+                    partitionsPerConnector.merge(connector, 1L, Long::sum);
+                });
+                writer.commit();
+            } catch (final RuntimeException e) {
+                writer.abort();
+                throw e;
+            }
+            partitionsPerConnector.forEach((connector, partitions) -> log.info(
+                    "Finished resetting {} partitions of connector {} from manifest", partitions, connector));
+        }
+    }
+
+    private Collection<PartitionCollector> resetPartitionsWhileScanning(final ResetterClients clients,
+            final ResetMetrics metrics) {
+        final OffsetWriter writer = this.createWriter(clients.getProducer(), metrics);
+        writer.begin();
+        try {
+            final Collection<PartitionCollector> collectors =
+                    metrics.time("scan", () -> this.collectPartitions(clients, writer::send, metrics,
+                            new ConcurrentHashMap<>(), null)).getCollectors();
+            log.info("Sent {} tombstones while scanning", writer.getSent());
+            metrics.time("commit", writer::commit);
+            return collectors;
+        } catch (final RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+    }
+
+    private void resetPartitions(final Iterable<PartitionCollector> collectors,
+            final Producer<byte[], byte[]> producer, final ResetMetrics metrics) {
+        final OffsetWriter writer = this.createWriter(producer, metrics);
+        writer.begin();
+        try {
+            for (final PartitionCollector collector : collectors) {
+                collector.getPartitions().forEach(writer::send);
+            }
+            writer.commit();
+        } catch (final RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+    }
+
+    private OffsetWriter createWriter(final Producer<byte[], byte[]> producer, final ResetMetrics metrics) {
+        return OffsetWriter.builder()
+                .producer(producer)
+                .topic(this.offsetTopic)
+                .maxRecordsPerTransaction(this.maxRecordsPerTransaction)
+                .metrics(metrics)
                 .build();
-        try (final Consumer<byte[], byte[]> consumer = this.createConsumer(kafkaConfig)) {
-            ConsumerRecords<byte[], byte[]> records;
-            do {
-                records = consumer.poll(this.pollDuration);
-                records.forEach(consumerRecord -> collector.handle(consumerRecord.key()));
-            } while (!records.isEmpty());
-            consumer.unsubscribe();
+    }
+
+    private PartitionRouter collectPartitions(final ResetterClients clients,
+            final Consumer<byte[]> partitionListener, final ResetMetrics metrics,
+            final Map<TopicPartition, Long> scannedEndOffsets, final OffsetSnapshot backup) {
+        final List<KafkaConsumer<byte[], byte[]>> consumers = clients.getConsumers(this.scanThreads);
+        final List<TopicPartition> partitions = this.partitionsForOffsetTopic(consumers.get(0));
+        return mergeRouters(this.scanInParallel(consumers, partitions,
+                (consumer, assignment) -> this.scanPartitions(consumer, assignment, partitionListener, metrics,
+                        scannedEndOffsets, backup)));
+    }
+
+    private PartitionRouter collectPartitionsWithIndex(final ResetterClients clients, final ResetMetrics metrics,
+            final Map<TopicPartition, Long> scannedEndOffsets) {
+        final List<KafkaConsumer<byte[], byte[]>> consumers = clients.getConsumers(this.scanThreads);
+        final KafkaConsumer<byte[], byte[]> firstConsumer = consumers.get(0);
+        final List<TopicPartition> partitions = this.partitionsForOffsetTopic(firstConsumer);
+        final String selection = this.sharedOptions.describeConnectorSelection();
+        final OffsetTopicIndex index = OffsetTopicIndex.load(this.indexFile, this.offsetTopic, selection);
+        index.validate(firstConsumer.beginningOffsets(partitions), firstConsumer.endOffsets(partitions));
+        index.prepare(partitions);
+        final Map<TopicPartition, Long> startOffsets = index.getPositions();
+        final PartitionRouter router = this.createRouter(null);
+        final List<Map<TopicPartition, Long>> endOffsets = this.scanInParallel(consumers, partitions,
+                (consumer, assignment) -> this.createScanner(consumer, assignment, startOffsets, metrics)
+                        .scanRecords(consumerRecord -> {
+                            final String connector = router.selectConnector(consumerRecord.key());
+                            if (connector != null) {
+                                index.update(consumerRecord.partition(), connector, consumerRecord.key(),
+                                        consumerRecord.value());
+                            }
+                        }));
+        endOffsets.forEach(index::updatePositions);
+        endOffsets.forEach(scannedEndOffsets::putAll);
+        index.save(this.indexFile);
+        index.route(router);
+        return router;
+    }
+
+    private <T> List<T> scanInParallel(final List<KafkaConsumer<byte[], byte[]>> consumers,
+            final List<TopicPartition> partitions,
+            final BiFunction<KafkaConsumer<byte[], byte[]>, List<TopicPartition>, T> worker) {
+        final List<List<TopicPartition>> assignments = assignPartitions(partitions, this.scanThreads);
+        log.info("Scanning {} partitions of offset topic {} with {} workers", partitions.size(), this.offsetTopic,
+                assignments.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(assignments.size());
+        try {
+            final List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < assignments.size(); i++) {
+                final KafkaConsumer<byte[], byte[]> consumer = consumers.get(i);
+                final List<TopicPartition> assignment = assignments.get(i);
+                futures.add(executor.submit(() -> worker.apply(consumer, assignment)));
+            }
+            return futures.stream()
+                    .map(KafkaConnectSourceResetter::await)
+                    .collect(Collectors.toList());
+        } finally {
+            executor.shutdownNow();
         }
-        return collector.getPartitions();
     }
 
-    private String createId() {
-        return "kafka-connect-resetter-" + this.sharedOptions.getConnectorName() + "-" + LocalDateTime.now()
-                .format(FORMATTER);
+    private PartitionRouter scanPartitions(final KafkaConsumer<byte[], byte[]> consumer,
+            final Collection<TopicPartition> partitions, final Consumer<byte[]> partitionListener,
+            final ResetMetrics metrics, final Map<TopicPartition, Long> scannedEndOffsets,
+            final OffsetSnapshot backup) {
+        final PartitionRouter router = this.createRouter(partitionListener);
+        final Map<TopicPartition, Long> endOffsets =
+                this.createScanner(consumer, partitions, null, metrics).scan((key, value) -> {
+                    if (router.handle(key, value)) {
+                        metrics.keyMatched();
+                        if (backup != null) {
+                            backup.update(key, value);
+                        }
+                    }
+                });
+        log.info("Read offset topic {} up to end offsets {}", this.offsetTopic, endOffsets);
+        scannedEndOffsets.putAll(endOffsets);
+        return router;
+    }
+
+    private PartitionRouter createRouter(final Consumer<byte[]> partitionListener) {
+        return PartitionRouter.builder()
+                .connectorNames(this.sharedOptions.getConnectorNames())
+                .connectorPattern(this.sharedOptions.getConnectorPattern())
+                .partitionListener(partitionListener)
+                .partitionFilter(this.partitionFilters.isEmpty() ? null : PartitionFilter.all(this.partitionFilters))
+                .partitionStore(this.createPartitionStore(partitionListener != null))
+                .build();
     }
 
-    private ProducerRecord<byte[], byte[]> createResetRecord(final byte[] partition) {
-        return new ProducerRecord<>(this.offsetTopic, partition, null);
+    private Supplier<Collection<byte[]>> createPartitionStore(final boolean streamed) {
+        if (streamed) {
+            // streamed partitions only need to be remembered to avoid duplicate tombstones
+            return () -> new RecentKeySet(this.maxSeenPartitions);
+        }
+        if (this.runDirectory != null) {
+            return () -> new SpillingKeySet(this.runDirectory, this.spillThreshold);
+        }
+        return null;
     }
 
-    private Consumer<byte[], byte[]> createConsumer(final Map<String, Object> kafkaConfig) {
-        final Deserializer<byte[]> byteArrayDeserializer = new ByteArrayDeserializer();
-        final Consumer<byte[], byte[]> consumer =
-                new KafkaConsumer<>(kafkaConfig, byteArrayDeserializer, byteArrayDeserializer);
-        final List<PartitionInfo> partitions = this.partitionsForOffsetTopic(consumer);
-        final List<TopicPartition> topicPartitions = partitions.stream()
-                .map(KafkaConnectSourceResetter::toTopicPartition)
-                .collect(Collectors.toList());
-        consumer.assign(topicPartitions);
-        consumer.seekToBeginning(topicPartitions);
-        return consumer;
+    private OffsetTopicScanner createScanner(final KafkaConsumer<byte[], byte[]> consumer,
+            final Collection<TopicPartition> partitions, final Map<TopicPartition, Long> startOffsets,
+            final ResetMetrics metrics) {
+        return OffsetTopicScanner.builder()
+                .consumer(consumer)
+                .partitions(partitions)
+                .pollDuration(this.pollDuration)
+                .startOffsets(startOffsets)
+                .metrics(metrics)
+                .build();
     }
 
-    private <K, V> List<PartitionInfo> partitionsForOffsetTopic(final Consumer<K, V> consumer) {
+    private String createId() {
+        final List<String> connectorNames = this.sharedOptions.getConnectorNames();
+        final boolean single = connectorNames.size() == 1 && this.sharedOptions.getConnectorPattern() == null;
+        final String name = single ? connectorNames.get(0) : "batch";
+        return "kafka-connect-resetter-" + name + "-" + LocalDateTime.now()
+                .format(FORMATTER);
+    }
+
+    private <K, V> List<TopicPartition> partitionsForOffsetTopic(final KafkaConsumer<K, V> consumer) {
         final Map<String, List<PartitionInfo>> topicsWithPartition = consumer.listTopics();
         if (!topicsWithPartition.containsKey(this.offsetTopic)) {
             final String message = String.format("Topic '%s' does not exist.", this.offsetTopic);
             throw new IllegalArgumentException(message);
         }
-        return topicsWithPartition.get(this.offsetTopic);
+        return topicsWithPartition.get(this.offsetTopic).stream()
+                .map(KafkaConnectSourceResetter::toTopicPartition)
+                .collect(Collectors.toList());
     }
 
 }
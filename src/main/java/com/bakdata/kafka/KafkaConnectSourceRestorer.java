@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+
+/**
+ * This command restores the offsets of Kafka Connect source connectors from a backup written by the source resetter
+ * with {@code --backup-file}.
+ *
+ * <pre>{@code
+ * Usage: <main class> restore [-hV] --backup-file=<backupFile>
+ *                             --brokers=<brokers>
+ *                             [--connector-pattern=<connectorPattern>]
+ *                             [--max-records-per-transaction=<maxRecordsPerTransaction>]
+ *                             --offset-topic=<offsetTopic>
+ *                             [--config=<String=String>[,<String=String>...]]...
+ *                             [<connectorNames>...]
+ *       [<connectorNames>...] Connectors to select
+ *       --backup-file=<backupFile>
+ *                             Backup of a source reset to restore
+ *       --brokers=<brokers>   List of Kafka brokers
+ *       --config=<String=String>[,<String=String>...]
+ *                             Kafka client and producer configuration properties
+ *       --connector-pattern=<connectorPattern>
+ *                             Regular expression matching the names of
+ *                               additional connectors to select
+ *   -h, --help                Show this help message and exit.
+ *       --max-records-per-transaction=<maxRecordsPerTransaction>
+ *                             Maximum number of offsets per transaction.
+ *                               Unlimited if not positive
+ *       --offset-topic=<offsetTopic>
+ *                             Topic where Kafka connect offsets are stored
+ *   -V, --version             Print version information and exit.
+ * }</pre>
+ *
+ * All offsets of the backup are restored unless connectors are selected by name or pattern. The backup is read one
+ * offset at a time and written in transactions of at most {@code --max-records-per-transaction} offsets. Connectors
+ * should be stopped while their offsets are restored.
+ */
+@Slf4j
+@Setter
+@Command(name = "restore", mixinStandardHelpOptions = true)
+public final class KafkaConnectSourceRestorer implements Runnable {
+    @Mixin
+    private SharedOptions sharedOptions;
+    @CommandLine.Option(names = "--offset-topic", description = "Topic where Kafka connect offsets are stored",
+            required = true)
+    private String offsetTopic;
+    @CommandLine.Option(names = "--backup-file", description = "Backup of a source reset to restore",
+            required = true)
+    private Path backupFile;
+    @CommandLine.Option(names = "--max-records-per-transaction",
+            description = "Maximum number of offsets per transaction. Unlimited if not positive")
+    private long maxRecordsPerTransaction = 10_000L;
+
+    @Override
+    public void run() {
+        final String id = "kafka-connect-resetter-restore-" + LocalDateTime.now()
+                .format(KafkaConnectSourceResetter.FORMATTER);
+        final Map<String, Object> kafkaConfig = this.sharedOptions.createKafkaConfig();
+        kafkaConfig.put(ConsumerConfig.CLIENT_ID_CONFIG, id);
+        kafkaConfig.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, id);
+        try (final ResetterClients clients = new ResetterClients(kafkaConfig)) {
+            this.restore(clients);
+        }
+    }
+
+    /**
+     * Restore the offsets of the backup using existing clients. The clients are not closed.
+     *
+     * @param clients clients to use
+     */
+    void restore(final ResetterClients clients) {
+        final OffsetRestorer restorer = OffsetRestorer.builder()
+                .producer(clients.getProducer())
+                .topic(this.offsetTopic)
+                .maxRecordsPerTransaction(this.maxRecordsPerTransaction)
+                .build();
+        log.info("Restoring offsets of topic {} from backup {}", this.offsetTopic, this.backupFile);
+        restorer.restore(this.backupFile, this::isSelected);
+    }
+
+    private boolean isSelected(final byte[] key) {
+        if (this.sharedOptions.getConnectorNames().isEmpty() && this.sharedOptions.getConnectorPattern() == null) {
+            return true;
+        }
+        final String connector = ConnectorNameExtractor.extractConnectorName(OffsetKeyParser.parse(key));
+        return this.sharedOptions.getConnectorNames().contains(connector)
+                || this.sharedOptions.getConnectorPattern() != null
+                && this.sharedOptions.getConnectorPattern().matcher(connector).matches();
+    }
+}
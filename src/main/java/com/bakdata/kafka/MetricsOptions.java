@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import picocli.CommandLine;
+
+/**
+ * Shared CLI options to configure how metrics of a reset are reported.
+ */
+@Getter
+@Setter
+public class MetricsOptions {
+    @CommandLine.Option(names = "--metrics-file", description = "File to write a JSON summary of the metrics to")
+    private Path metricsFile;
+    @CommandLine.Option(names = "--progress-interval", description = "Interval in which progress is logged")
+    private Duration progressInterval = Duration.ofSeconds(10);
+    @CommandLine.Option(names = "--openmetrics-file",
+            description = "File to write the metrics to in OpenMetrics text format")
+    private Path openMetricsFile;
+    @CommandLine.Option(names = "--openmetrics-url",
+            description = "URL to push the metrics to in Prometheus text format, e.g., of a Prometheus Pushgateway")
+    private URI openMetricsUrl;
+
+    ResetMetricsReporter createReporter(final ResetMetrics metrics, final String command,
+            final Supplier<? extends Map<MetricName, ? extends Metric>> clientMetrics) {
+        return ResetMetricsReporter.builder()
+                .metrics(metrics)
+                .command(command)
+                .clientMetrics(clientMetrics)
+                .metricsFile(this.metricsFile)
+                .progressInterval(this.progressInterval)
+                .openMetricsFile(this.openMetricsFile)
+                .openMetricsUrl(this.openMetricsUrl)
+                .build()
+                .start();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.charset.StandardCharsets;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Result of parsing a Kafka Connect offset key with {@link OffsetKeyParser}. Instead of materializing the key as
+ * {@code List} and {@code Map} objects, it references the raw bytes of the first element of the key, which is the
+ * connector name, and of the second element, which is the connector specific partition. The connector name is only
+ * decoded into a new {@code String} when {@link #decodeName()} is called.
+ */
+@Builder(access = AccessLevel.PACKAGE)
+@Getter(AccessLevel.PACKAGE)
+final class OffsetKey {
+    private final byte[] bytes;
+    private final @NonNull JsonType type;
+    /**
+     * Type of the first element if the key is a non-empty array, {@code null} otherwise
+     */
+    private final JsonType firstElementType;
+    /**
+     * Position of the first character of the connector name, i.e., after the opening quote
+     */
+    private final int nameStart;
+    /**
+     * Position of the closing quote of the connector name
+     */
+    private final int nameEnd;
+    /**
+     * Type of the second element if the key is an array with at least two elements, {@code null} otherwise
+     */
+    private final JsonType partitionType;
+    /**
+     * Position of the first character of the second element
+     */
+    private final int partitionStart;
+
+    private static int hexValue(final byte b) {
+        return Character.digit(b, 16);
+    }
+
+    /**
+     * Decode the content of a valid JSON string. Escape sequences are resolved.
+     *
+     * @param bytes bytes containing the string
+     * @param start position of the first character, i.e., after the opening quote
+     * @param end position of the closing quote
+     * @return decoded string
+     */
+    static String decodeString(final byte[] bytes, final int start, final int end) {
+        int segmentStart = start;
+        StringBuilder builder = null;
+        int i = start;
+        while (i < end) {
+            if (bytes[i] == '\\') {
+                if (builder == null) {
+                    builder = new StringBuilder(end - start);
+                }
+                builder.append(new String(bytes, segmentStart, i - segmentStart, StandardCharsets.UTF_8));
+                final byte escaped = bytes[i + 1];
+                switch (escaped) {
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'u' -> {
+                        final int value = (hexValue(bytes[i + 2]) << 12) | (hexValue(bytes[i + 3]) << 8)
+                                | (hexValue(bytes[i + 4]) << 4) | hexValue(bytes[i + 5]);
+                        builder.append((char) value);
+                        i += 4;
+                    }
+                    default -> builder.append((char) escaped);
+                }
+                i += 2;
+                segmentStart = i;
+            } else {
+                i++;
+            }
+        }
+        if (builder == null) {
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+        builder.append(new String(bytes, segmentStart, end - segmentStart, StandardCharsets.UTF_8));
+        return builder.toString();
+    }
+
+    /**
+     * Decode the connector name from the underlying bytes. Escape sequences are resolved.
+     *
+     * @return connector name
+     */
+    String decodeName() {
+        return decodeString(this.bytes, this.nameStart, this.nameEnd);
+    }
+}
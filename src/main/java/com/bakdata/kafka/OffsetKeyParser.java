@@ -0,0 +1,315 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.charset.StandardCharsets;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Streaming parser for Kafka Connect offset keys. Such a key is a JSON array consisting of the connector name and a
+ * connector specific partition, e.g., {@code ["connector-name", { some-source-specific -data... }] }. The parser
+ * validates the JSON structure directly on the raw bytes and only remembers where the connector name and the
+ * partition are located. This avoids the {@code List} and {@code Map} objects that a generic JSON parser creates for
+ * each key. Parsing still creates an {@link OffsetKey} per key, and the connector name is decoded into a
+ * {@code String} when it is needed.
+ */
+@UtilityClass
+class OffsetKeyParser {
+    private static final int MAX_DEPTH = 256;
+
+    /**
+     * Parse an offset key
+     *
+     * @param bytes serialized offset key, may be {@code null}
+     * @return parsed offset key
+     * @throws IllegalArgumentException if the key is not valid JSON
+     */
+    OffsetKey parse(final byte[] bytes) {
+        if (bytes == null) {
+            return OffsetKey.builder()
+                    .type(JsonType.NULL)
+                    .build();
+        }
+        final int start = skipWhitespace(bytes, 0);
+        final JsonType type = typeAt(bytes, start);
+        if (type != JsonType.ARRAY) {
+            checkEnd(bytes, skipValue(bytes, start, 0));
+            return OffsetKey.builder()
+                    .bytes(bytes)
+                    .type(type)
+                    .build();
+        }
+        final int firstElement = skipWhitespace(bytes, start + 1);
+        if (charAt(bytes, firstElement) == ']') {
+            checkEnd(bytes, firstElement + 1);
+            return OffsetKey.builder()
+                    .bytes(bytes)
+                    .type(type)
+                    .build();
+        }
+        final JsonType firstElementType = typeAt(bytes, firstElement);
+        final int afterFirstElement = skipValue(bytes, firstElement, 1);
+        final int separator = skipWhitespace(bytes, afterFirstElement);
+        final int partitionStart = separator < bytes.length && bytes[separator] == ','
+                ? skipWhitespace(bytes, separator + 1) : -1;
+        checkEnd(bytes, skipElements(bytes, afterFirstElement, 1));
+        final boolean hasName = firstElementType == JsonType.STRING;
+        return OffsetKey.builder()
+                .bytes(bytes)
+                .type(type)
+                .firstElementType(firstElementType)
+                .nameStart(hasName ? firstElement + 1 : -1)
+                .nameEnd(hasName ? afterFirstElement - 1 : -1)
+                .partitionType(partitionStart < 0 ? null : typeAt(bytes, partitionStart))
+                .partitionStart(partitionStart)
+                .build();
+    }
+
+    /**
+     * Read a field of the partition of a parsed offset key, i.e., of the second element if it is an object. Strings
+     * are decoded and other scalar values are returned as their JSON text. If a field occurs multiple times, the last
+     * occurrence wins.
+     *
+     * @param key parsed offset key
+     * @param field name of the field
+     * @return value of the field or {@code null} if the partition is not an object or the field is missing or not a
+     * scalar value
+     */
+    String readPartitionField(final OffsetKey key, final String field) {
+        if (key.getPartitionType() != JsonType.OBJECT) {
+            return null;
+        }
+        // the key has already been validated when it was parsed
+        final byte[] bytes = key.getBytes();
+        int i = skipWhitespace(bytes, key.getPartitionStart() + 1);
+        if (bytes[i] == '}') {
+            return null;
+        }
+        String value = null;
+        while (true) {
+            final int afterName = skipString(bytes, i);
+            final int valueStart = skipWhitespace(bytes, skipWhitespace(bytes, afterName) + 1);
+            final int afterValue = skipValue(bytes, valueStart, 1);
+            if (field.equals(OffsetKey.decodeString(bytes, i + 1, afterName - 1))) {
+                value = readScalar(bytes, valueStart, afterValue);
+            }
+            i = skipWhitespace(bytes, afterValue);
+            if (bytes[i] == '}') {
+                return value;
+            }
+            i = skipWhitespace(bytes, i + 1);
+        }
+    }
+
+    private String readScalar(final byte[] bytes, final int start, final int end) {
+        return switch (typeAt(bytes, start)) {
+            case ARRAY, OBJECT -> null;
+            case STRING -> OffsetKey.decodeString(bytes, start + 1, end - 1);
+            case NUMBER, BOOLEAN, NULL -> new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        };
+    }
+
+    private IllegalArgumentException malformed(final String message, final int position) {
+        final String errorMessage = String.format("Malformed offset key: %s at position %d", message, position);
+        return new IllegalArgumentException(errorMessage);
+    }
+
+    private byte charAt(final byte[] bytes, final int position) {
+        if (position >= bytes.length) {
+            throw malformed("Unexpected end of input", position);
+        }
+        return bytes[position];
+    }
+
+    private boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private int skipWhitespace(final byte[] bytes, final int position) {
+        int i = position;
+        while (i < bytes.length && isWhitespace(bytes[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private void checkEnd(final byte[] bytes, final int position) {
+        final int end = skipWhitespace(bytes, position);
+        if (end != bytes.length) {
+            throw malformed("Unexpected trailing character", end);
+        }
+    }
+
+    private JsonType typeAt(final byte[] bytes, final int position) {
+        final byte b = charAt(bytes, position);
+        return switch (b) {
+            case '[' -> JsonType.ARRAY;
+            case '{' -> JsonType.OBJECT;
+            case '"' -> JsonType.STRING;
+            case 't', 'f' -> JsonType.BOOLEAN;
+            case 'n' -> JsonType.NULL;
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> JsonType.NUMBER;
+            default -> throw malformed("Unexpected character '" + (char) b + "'", position);
+        };
+    }
+
+    /**
+     * Skip the JSON value starting at the given position
+     *
+     * @return position after the value
+     */
+    private int skipValue(final byte[] bytes, final int position, final int depth) {
+        if (depth > MAX_DEPTH) {
+            throw malformed("Maximum nesting depth exceeded", position);
+        }
+        return switch (typeAt(bytes, position)) {
+            case ARRAY -> {
+                final int next = skipWhitespace(bytes, position + 1);
+                yield charAt(bytes, next) == ']' ? next + 1
+                        : skipElements(bytes, skipValue(bytes, next, depth + 1), depth + 1);
+            }
+            case OBJECT -> skipObject(bytes, position, depth + 1);
+            case STRING -> skipString(bytes, position);
+            case NUMBER -> skipNumber(bytes, position);
+            case BOOLEAN -> skipLiteral(bytes, position, bytes[position] == 't' ? "true" : "false");
+            case NULL -> skipLiteral(bytes, position, "null");
+        };
+    }
+
+    /**
+     * Skip the remaining elements of an array after an element has been read
+     *
+     * @return position after the closing bracket
+     */
+    private int skipElements(final byte[] bytes, final int position, final int depth) {
+        int i = skipWhitespace(bytes, position);
+        while (charAt(bytes, i) == ',') {
+            i = skipWhitespace(bytes, skipValue(bytes, skipWhitespace(bytes, i + 1), depth));
+        }
+        if (bytes[i] != ']') {
+            throw malformed("Expected ',' or ']'", i);
+        }
+        return i + 1;
+    }
+
+    private int skipObject(final byte[] bytes, final int position, final int depth) {
+        int i = skipWhitespace(bytes, position + 1);
+        if (charAt(bytes, i) == '}') {
+            return i + 1;
+        }
+        while (true) {
+            if (charAt(bytes, i) != '"') {
+                throw malformed("Expected field name", i);
+            }
+            i = skipWhitespace(bytes, skipString(bytes, i));
+            if (charAt(bytes, i) != ':') {
+                throw malformed("Expected ':'", i);
+            }
+            i = skipWhitespace(bytes, skipValue(bytes, skipWhitespace(bytes, i + 1), depth));
+            final byte b = charAt(bytes, i);
+            if (b == '}') {
+                return i + 1;
+            }
+            if (b != ',') {
+                throw malformed("Expected ',' or '}'", i);
+            }
+            i = skipWhitespace(bytes, i + 1);
+        }
+    }
+
+    private int skipString(final byte[] bytes, final int position) {
+        int i = position + 1;
+        while (true) {
+            final byte b = charAt(bytes, i);
+            if (b == '"') {
+                return i + 1;
+            }
+            if (b == '\\') {
+                i = skipEscape(bytes, i);
+            } else if (b >= 0 && b < 0x20) {
+                throw malformed("Unescaped control character", i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private int skipEscape(final byte[] bytes, final int position) {
+        final byte escaped = charAt(bytes, position + 1);
+        switch (escaped) {
+            case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> {
+                return position + 2;
+            }
+            case 'u' -> {
+                for (int i = position + 2; i < position + 6; i++) {
+                    if (Character.digit(charAt(bytes, i), 16) < 0) {
+                        throw malformed("Invalid unicode escape", i);
+                    }
+                }
+                return position + 6;
+            }
+            default -> throw malformed("Invalid escape sequence", position);
+        }
+    }
+
+    private int skipDigits(final byte[] bytes, final int position) {
+        int i = position;
+        while (i < bytes.length && bytes[i] >= '0' && bytes[i] <= '9') {
+            i++;
+        }
+        if (i == position) {
+            throw malformed("Expected digit", position);
+        }
+        return i;
+    }
+
+    private int skipNumber(final byte[] bytes, final int position) {
+        int i = position;
+        if (bytes[i] == '-') {
+            i++;
+        }
+        i = skipDigits(bytes, i);
+        if (i < bytes.length && bytes[i] == '.') {
+            i = skipDigits(bytes, i + 1);
+        }
+        if (i < bytes.length && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            if (i < bytes.length && (bytes[i] == '+' || bytes[i] == '-')) {
+                i++;
+            }
+            i = skipDigits(bytes, i);
+        }
+        return i;
+    }
+
+    private int skipLiteral(final byte[] bytes, final int position, final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (charAt(bytes, position + i) != literal.charAt(i)) {
+                throw malformed("Expected " + literal, position);
+            }
+        }
+        return position + literal.length();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.file.Path;
+import java.util.function.Predicate;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Producer;
+
+/**
+ * Writes the offsets of an {@link OffsetSnapshot} back to the Kafka Connect offset topic in transactions using a
+ * {@link OffsetWriter}. Records are sent without waiting for each acknowledgement, and the transaction is never
+ * committed if a record could not be written.
+ *
+ * <p>If a maximum number of records per transaction is configured, the transaction is committed whenever it contains
+ * that many records. Already committed chunks stay restored if a later chunk fails, which is safe because restoring is
+ * idempotent.</p>
+ */
+@Slf4j
+@Builder
+final class OffsetRestorer {
+    private final @NonNull Producer<byte[], byte[]> producer;
+    private final @NonNull String topic;
+    /**
+     * Maximum number of records per transaction. Non-positive values disable chunking.
+     */
+    private final long maxRecordsPerTransaction;
+
+    /**
+     * Restore the offsets of a snapshot. Transactions must have been initialized on the producer before.
+     *
+     * @param file file to read the snapshot from
+     * @param keyFilter predicate selecting the keys of the offsets to restore
+     * @return number of restored offsets
+     */
+    long restore(final Path file, final Predicate<byte[]> keyFilter) {
+        final OffsetWriter writer = OffsetWriter.builder()
+                .producer(this.producer)
+                .topic(this.topic)
+                .maxRecordsPerTransaction(this.maxRecordsPerTransaction)
+                .build();
+        writer.begin();
+        try {
+            OffsetSnapshot.read(file, this.topic, (key, value) -> {
+                if (keyFilter.test(key)) {
+                    writer.send(key, value);
+                }
+            });
+            writer.commit();
+        } catch (final RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        log.info("Restored {} offsets", writer.getCommitted());
+        return writer.getCommitted();
+    }
+}
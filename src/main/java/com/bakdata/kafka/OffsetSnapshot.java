@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snapshot of the latest offsets of the partitions of a source reset. It is written before the tombstones are
+ * committed, so that a reset can be rolled back by writing the offsets to the offset topic again. All keys and values
+ * are kept on the heap until the snapshot is written.
+ *
+ * <p>A Kafka Connect offset key is always written to the same partition of the offset topic. Scan workers therefore
+ * never update the same key, but they share a single snapshot.</p>
+ *
+ * <p>Snapshots can be written with gzip compression. Compressed snapshots are detected when reading them.</p>
+ */
+@Slf4j
+final class OffsetSnapshot {
+    private static final int FORMAT_VERSION = 1;
+    private final Map<ByteBuffer, byte[]> offsets = new ConcurrentHashMap<>();
+
+    /**
+     * Read all offsets of a snapshot one at a time
+     *
+     * @param file file to read the snapshot from
+     * @param topic name of the offset topic the snapshot is expected to belong to
+     * @param offsetConsumer consumer of the key and value of each offset record
+     * @return number of offsets read
+     */
+    static long read(final Path file, final String topic, final BiConsumer<byte[], byte[]> offsetConsumer) {
+        try (final InputStream inputStream = Files.newInputStream(file);
+                final DataInputStream input = new DataInputStream(decompress(inputStream))) {
+            final int version = input.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException(
+                        String.format("Snapshot %s has unsupported version %d", file, version));
+            }
+            final String snapshotTopic = input.readUTF();
+            if (!topic.equals(snapshotTopic)) {
+                throw new IllegalArgumentException(
+                        String.format("Snapshot %s was created for topic '%s' but offset topic is '%s'", file,
+                                snapshotTopic, topic));
+            }
+            long count = 0L;
+            while (input.readBoolean()) {
+                final byte[] key = new byte[input.readInt()];
+                input.readFully(key);
+                final byte[] value = new byte[input.readInt()];
+                input.readFully(value);
+                offsetConsumer.accept(key, value);
+                count++;
+            }
+            return count;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot " + file, e);
+        }
+    }
+
+    private static InputStream decompress(final InputStream inputStream) throws IOException {
+        final InputStream bufferedStream = new BufferedInputStream(inputStream);
+        bufferedStream.mark(2);
+        final int magic = bufferedStream.read() | (bufferedStream.read() << 8);
+        bufferedStream.reset();
+        if (magic == GZIPInputStream.GZIP_MAGIC) {
+            return new BufferedInputStream(new GZIPInputStream(bufferedStream));
+        }
+        return bufferedStream;
+    }
+
+    /**
+     * Update the snapshot with a record of the offset topic. The latest record of each key wins.
+     *
+     * @param key key of the offset record
+     * @param value value of the offset record
+     */
+    void update(final byte[] key, final byte[] value) {
+        if (value == null) {
+            this.offsets.remove(ByteBuffer.wrap(key));
+        } else {
+            this.offsets.put(ByteBuffer.wrap(key), value);
+        }
+    }
+
+    int size() {
+        return this.offsets.size();
+    }
+
+    /**
+     * Write the snapshot to a file
+     *
+     * @param file file to write the snapshot to
+     * @param topic name of the offset topic
+     * @param compress whether to compress the snapshot with gzip
+     */
+    void write(final Path file, final String topic, final boolean compress) {
+        final Path absoluteFile = file.toAbsolutePath();
+        try {
+            final Path temporaryFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName()
+                    .toString(), ".tmp");
+            try {
+                try (final OutputStream outputStream = Files.newOutputStream(temporaryFile);
+                        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                                compress ? new GZIPOutputStream(outputStream) : outputStream))) {
+                    output.writeInt(FORMAT_VERSION);
+                    output.writeUTF(topic);
+                    for (final Entry<ByteBuffer, byte[]> entry : this.offsets.entrySet()) {
+                        final byte[] key = entry.getKey().array();
+                        output.writeBoolean(true);
+                        output.writeInt(key.length);
+                        output.write(key);
+                        output.writeInt(entry.getValue().length);
+                        output.write(entry.getValue());
+                    }
+                    output.writeBoolean(false);
+                }
+                Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot " + file, e);
+        }
+        log.info("Wrote snapshot {} of topic {} with {} offsets", file, topic, this.offsets.size());
+    }
+}
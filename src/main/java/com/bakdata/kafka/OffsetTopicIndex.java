@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Persistent index of the Kafka Connect offset topic. For each partition of the offset topic, it stores the position
+ * up to which the partition has been read and the live offset keys of the selected connectors found so far. Subsequent
+ * scans only need to read the offset topic from the stored positions.
+ *
+ * <p>Keys of other connectors are not indexed, so the size of the index only depends on the selected connectors. The
+ * connector selection is stored with the index, and an index created for a different selection is discarded.</p>
+ *
+ * <p>A Kafka Connect offset key is always written to the same partition of the offset topic. Each partition of the
+ * index can therefore be updated by a different scan worker without synchronization.</p>
+ *
+ * <p>The index is written to a temporary file that is then atomically moved to its destination, so that an
+ * interrupted write never corrupts an existing index.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+final class OffsetTopicIndex {
+    private static final int FORMAT_VERSION = 2;
+    // only checked for null by the collectors
+    private static final byte[] LIVE = new byte[0];
+    private final @NonNull String topic;
+    private final @NonNull String selection;
+    private final Map<Integer, PartitionIndex> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Load an index from a file. An empty index is returned if the file does not exist, cannot be read, or belongs to
+     * a different topic or connector selection.
+     *
+     * @param file file to load the index from
+     * @param topic name of the offset topic
+     * @param selection description of the selected connectors
+     * @return loaded index
+     */
+    static OffsetTopicIndex load(final Path file, final String topic, final String selection) {
+        try (final InputStream inputStream = Files.newInputStream(file);
+                final DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream))) {
+            final int version = input.readInt();
+            final String indexedTopic = input.readUTF();
+            if (version != FORMAT_VERSION || !topic.equals(indexedTopic)) {
+                log.warn("Ignoring index {} of topic {} with version {}", file, indexedTopic, version);
+                return new OffsetTopicIndex(topic, selection);
+            }
+            final String indexedSelection = input.readUTF();
+            if (!selection.equals(indexedSelection)) {
+                log.warn("Ignoring index {} because it was created for connectors {} but connectors {} are selected",
+                        file, indexedSelection, selection);
+                return new OffsetTopicIndex(topic, selection);
+            }
+            final OffsetTopicIndex index = new OffsetTopicIndex(topic, selection);
+            final int numPartitions = input.readInt();
+            for (int i = 0; i < numPartitions; i++) {
+                final int partition = input.readInt();
+                index.partitions.put(partition, PartitionIndex.read(input));
+            }
+            log.info("Loaded index {} of topic {} with positions {}", file, topic, index.getPositions());
+            return index;
+        } catch (final NoSuchFileException e) {
+            log.info("Index {} does not exist yet", file);
+            return new OffsetTopicIndex(topic, selection);
+        } catch (final IOException e) {
+            log.warn("Ignoring unreadable index {}", file, e);
+            return new OffsetTopicIndex(topic, selection);
+        }
+    }
+
+    private static TopicPartition toTopicPartition(final String topic, final int partition) {
+        return new TopicPartition(topic, partition);
+    }
+
+    /**
+     * Write the index to a file
+     *
+     * @param file file to write the index to
+     */
+    void save(final Path file) {
+        final Path absoluteFile = file.toAbsolutePath();
+        try {
+            final Path temporaryFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName()
+                    .toString(), ".tmp");
+            try {
+                try (final OutputStream outputStream = Files.newOutputStream(temporaryFile);
+                        final DataOutputStream output = new DataOutputStream(
+                                new BufferedOutputStream(outputStream))) {
+                    output.writeInt(FORMAT_VERSION);
+                    output.writeUTF(this.topic);
+                    output.writeUTF(this.selection);
+                    output.writeInt(this.partitions.size());
+                    for (final Entry<Integer, PartitionIndex> entry : this.partitions.entrySet()) {
+                        output.writeInt(entry.getKey());
+                        entry.getValue().write(output);
+                    }
+                }
+                Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to write index " + file, e);
+        }
+        log.info("Saved index {} of topic {} with positions {}", file, this.topic, this.getPositions());
+    }
+
+    /**
+     * Check the stored positions against the current offsets of the offset topic. If a position lies outside the
+     * available offsets, e.g., because the topic has been recreated, the complete index is discarded.
+     *
+     * @param beginningOffsets current beginning offsets of the offset topic
+     * @param endOffsets current end offsets of the offset topic
+     */
+    void validate(final Map<TopicPartition, Long> beginningOffsets, final Map<TopicPartition, Long> endOffsets) {
+        for (final Entry<Integer, PartitionIndex> entry : this.partitions.entrySet()) {
+            final TopicPartition topicPartition = toTopicPartition(this.topic, entry.getKey());
+            final long position = entry.getValue().position;
+            final Long beginningOffset = beginningOffsets.get(topicPartition);
+            final Long endOffset = endOffsets.get(topicPartition);
+            if (beginningOffset == null || endOffset == null || position < beginningOffset || position > endOffset) {
+                log.warn("Discarding index because position {} of partition {} is not within offsets {} to {}",
+                        position, topicPartition, beginningOffset, endOffset);
+                this.partitions.clear();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Create entries for partitions that are not indexed yet. Must be called before the partitions are updated
+     * concurrently.
+     *
+     * @param topicPartitions partitions of the offset topic
+     */
+    void prepare(final Collection<TopicPartition> topicPartitions) {
+        topicPartitions.forEach(
+                topicPartition -> this.partitions.computeIfAbsent(topicPartition.partition(),
+                        partition -> new PartitionIndex()));
+    }
+
+    /**
+     * Get the positions from which the offset topic needs to be read to update the index
+     *
+     * @return positions of indexed partitions
+     */
+    Map<TopicPartition, Long> getPositions() {
+        final Map<TopicPartition, Long> positions = new HashMap<>();
+        this.partitions.forEach((partition, partitionIndex) -> positions.put(toTopicPartition(this.topic, partition),
+                partitionIndex.position));
+        return positions;
+    }
+
+    /**
+     * Update the index with a record of a selected connector. The latest record of each key wins. Records of other
+     * connectors must not be passed to the index.
+     *
+     * @param partition partition of the offset topic the record was read from
+     * @param connector name of the connector the record belongs to
+     * @param bytes key of the offset record
+     * @param value value of the offset record
+     */
+    void update(final int partition, final String connector, final byte[] bytes, final byte[] value) {
+        final PartitionIndex partitionIndex = this.partitions.get(partition);
+        if (value == null) {
+            final ByteArraySet keys = partitionIndex.keys.get(connector);
+            if (keys != null && keys.remove(bytes) && keys.isEmpty()) {
+                partitionIndex.keys.remove(connector);
+            }
+        } else {
+            partitionIndex.keys.computeIfAbsent(connector, name -> new ByteArraySet()).add(bytes);
+        }
+    }
+
+    /**
+     * Store the positions up to which the offset topic has been read
+     *
+     * @param endOffsets end offsets of a completed scan
+     */
+    void updatePositions(final Map<TopicPartition, Long> endOffsets) {
+        endOffsets.forEach(
+                (topicPartition, offset) -> this.partitions.get(topicPartition.partition()).position = offset);
+    }
+
+    /**
+     * Pass the live keys of the indexed connectors to a router
+     *
+     * @param router router to collect the keys of the selected connectors
+     */
+    void route(final PartitionRouter router) {
+        for (final PartitionIndex partitionIndex : this.partitions.values()) {
+            partitionIndex.keys.forEach((connector, keys) -> keys.forEach(
+                    key -> router.handle(connector, OffsetKeyParser.parse(key), LIVE)));
+        }
+    }
+
+    private static final class PartitionIndex {
+        private final Map<String, ByteArraySet> keys = new HashMap<>();
+        private long position;
+
+        private static PartitionIndex read(final DataInputStream input) throws IOException {
+            final PartitionIndex partitionIndex = new PartitionIndex();
+            partitionIndex.position = input.readLong();
+            final int numConnectors = input.readInt();
+            for (int i = 0; i < numConnectors; i++) {
+                final String connector = input.readUTF();
+                final int numKeys = input.readInt();
+                final ByteArraySet connectorKeys = new ByteArraySet();
+                for (int j = 0; j < numKeys; j++) {
+                    final byte[] key = new byte[input.readInt()];
+                    input.readFully(key);
+                    connectorKeys.add(key);
+                }
+                partitionIndex.keys.put(connector, connectorKeys);
+            }
+            return partitionIndex;
+        }
+
+        private void write(final DataOutputStream output) throws IOException {
+            output.writeLong(this.position);
+            output.writeInt(this.keys.size());
+            for (final Entry<String, ByteArraySet> entry : this.keys.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeInt(entry.getValue().size());
+                for (final byte[] key : entry.getValue()) {
+                    output.writeInt(key.length);
+                    output.write(key);
+                }
+            }
+        }
+    }
+}
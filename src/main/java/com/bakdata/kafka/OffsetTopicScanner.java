@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Reads partitions of the Kafka Connect offset topic from the beginning, or from configured start offsets, up to the
+ * end offsets captured when the scan starts. Each partition is dropped from the assignment as soon as its captured end
+ * offset is reached, so the scan terminates without waiting for an empty poll and ignores records written after it
+ * started.
+ */
+@Slf4j
+@Builder
+final class OffsetTopicScanner {
+    private final @NonNull Consumer<byte[], byte[]> consumer;
+    private final @NonNull Collection<TopicPartition> partitions;
+    private final @NonNull Duration pollDuration;
+    /**
+     * Offsets to start reading from. Partitions without a start offset are read from the beginning.
+     */
+    private final Map<TopicPartition, Long> startOffsets;
+    /**
+     * Metrics to report scanned records and lag to. Not reported if {@code null}.
+     */
+    private final ResetMetrics metrics;
+
+    /**
+     * Scan all partitions and pass key and value of each record to the handler
+     *
+     * @param handler handler for each record read from the offset topic
+     * @return end offsets that bound the scan
+     */
+    Map<TopicPartition, Long> scan(final BiConsumer<byte[], byte[]> handler) {
+        return this.scanRecords(consumerRecord -> handler.accept(consumerRecord.key(), consumerRecord.value()));
+    }
+
+    /**
+     * Scan all partitions and pass each record read from the offset topic to the handler
+     *
+     * @param handler handler for each record read from the offset topic
+     * @return end offsets that bound the scan
+     */
+    Map<TopicPartition, Long> scanRecords(final RecordHandler handler) {
+        final Map<TopicPartition, Long> endOffsets = this.consumer.endOffsets(this.partitions);
+        this.consumer.assign(this.partitions);
+        this.seekToStart();
+        final Set<TopicPartition> remaining = new HashSet<>(this.partitions);
+        this.dropCompletedPartitions(remaining, endOffsets);
+        while (!remaining.isEmpty()) {
+            final ConsumerRecords<byte[], byte[]> records = this.consumer.poll(this.pollDuration);
+            for (final TopicPartition topicPartition : records.partitions()) {
+                final long endOffset = endOffsets.get(topicPartition);
+                for (final ConsumerRecord<byte[], byte[]> consumerRecord : records.records(topicPartition)) {
+                    if (consumerRecord.offset() < endOffset) {
+                        this.recordScanned(consumerRecord);
+                        handler.handle(consumerRecord);
+                    }
+                }
+            }
+            this.dropCompletedPartitions(remaining, endOffsets);
+        }
+        this.consumer.unsubscribe();
+        return endOffsets;
+    }
+
+    private void seekToStart() {
+        final Collection<TopicPartition> fromBeginning = new ArrayList<>();
+        for (final TopicPartition topicPartition : this.partitions) {
+            final Long startOffset = this.startOffsets == null ? null : this.startOffsets.get(topicPartition);
+            if (startOffset == null) {
+                fromBeginning.add(topicPartition);
+            } else {
+                this.consumer.seek(topicPartition, startOffset);
+            }
+        }
+        this.consumer.seekToBeginning(fromBeginning);
+    }
+
+    private void recordScanned(final ConsumerRecord<byte[], byte[]> consumerRecord) {
+        if (this.metrics != null) {
+            final byte[] key = consumerRecord.key();
+            final byte[] value = consumerRecord.value();
+            this.metrics.recordScanned((key == null ? 0 : key.length) + (value == null ? 0 : value.length));
+        }
+    }
+
+    private void dropCompletedPartitions(final Set<TopicPartition> remaining,
+            final Map<TopicPartition, Long> endOffsets) {
+        final List<TopicPartition> completed = new ArrayList<>();
+        for (final TopicPartition topicPartition : remaining) {
+            final long lag = Math.max(0L, endOffsets.get(topicPartition) - this.consumer.position(topicPartition));
+            if (this.metrics != null) {
+                this.metrics.updateLag(topicPartition, lag);
+            }
+            if (lag == 0L) {
+                completed.add(topicPartition);
+            }
+        }
+        if (!completed.isEmpty()) {
+            log.debug("Finished reading partitions {}", completed);
+            remaining.removeAll(completed);
+            this.consumer.assign(remaining);
+        }
+    }
+
+    /**
+     * Handler for records read from the offset topic
+     */
+    @FunctionalInterface
+    interface RecordHandler {
+        void handle(ConsumerRecord<byte[], byte[]> consumerRecord);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+
+/**
+ * Writes offsets for partitions of the Kafka Connect offset topic within a transaction. Resets write tombstones, while
+ * restoring a backup writes the backed up offset values. Sends are asynchronous and tracked with callbacks. The first
+ * failed send is reported by all subsequent calls, so that the transaction is never committed if an offset could not be
+ * written.
+ *
+ * <p>If a maximum number of records per transaction is configured, the transaction is committed whenever it contains
+ * that many offsets. The next transaction is only started when the next offset is sent, so that no empty transaction
+ * is committed at the end. Already committed chunks stay written if a later chunk fails. Because reset partitions are
+ * skipped when the offset topic is scanned, a re-run of a reset only resets the remaining partitions.</p>
+ */
+@Slf4j
+@Builder
+final class OffsetWriter {
+    /**
+     * Throughput-oriented producer configuration that is used unless configured otherwise
+     */
+    static final Map<String, Object> PRODUCER_DEFAULTS = Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 20,
+            ProducerConfig.BATCH_SIZE_CONFIG, 256 * 1024,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"
+    );
+    private static final long PROGRESS_INTERVAL = 10_000L;
+    private final @NonNull Producer<byte[], byte[]> producer;
+    private final @NonNull String topic;
+    /**
+     * Maximum number of offsets per transaction. Non-positive values disable chunking.
+     */
+    private final long maxRecordsPerTransaction;
+    /**
+     * Metrics of a reset to report sent and acknowledged tombstones and reset partitions to. Only set by resets,
+     * which write tombstones exclusively. Not reported if {@code null}.
+     */
+    private final ResetMetrics metrics;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicReference<Exception> error = new AtomicReference<>();
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+    /**
+     * Begin a transaction. Transactions must have been initialized on the producer before.
+     */
+    void begin() {
+        this.producer.beginTransaction();
+        this.inTransaction.set(true);
+    }
+
+    /**
+     * Asynchronously send a tombstone for a partition
+     *
+     * @param partition key of the offset to reset
+     * @throws ResetterException if a previous send failed
+     */
+    void send(final byte[] partition) {
+        this.send(partition, null);
+    }
+
+    /**
+     * Asynchronously send an offset for a partition
+     *
+     * @param partition key of the offset
+     * @param value value of the offset or {@code null} to reset it
+     * @throws ResetterException if a previous send failed
+     */
+    synchronized void send(final byte[] partition, final byte[] value) {
+        this.checkError();
+        if (!this.inTransaction.get()) {
+            this.begin();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Writing offset of partition {}", new String(partition, StandardCharsets.UTF_8));
+        }
+        this.producer.send(new ProducerRecord<>(this.topic, partition, value), this::onCompletion);
+        final long count = this.sent.incrementAndGet();
+        if (this.metrics != null) {
+            this.metrics.tombstoneSent();
+        }
+        if (this.maxRecordsPerTransaction > 0 && count - this.committed.get() >= this.maxRecordsPerTransaction) {
+            this.commitTransaction();
+        }
+    }
+
+    /**
+     * Wait for all offsets to be acknowledged and commit the transaction
+     *
+     * @throws ResetterException if a send failed
+     */
+    synchronized void commit() {
+        if (this.inTransaction.get()) {
+            this.commitTransaction();
+        }
+        log.info("Committed {} offsets in {} transactions", this.committed.get(), this.transactions.get());
+    }
+
+    /**
+     * Abort the transaction. Failures are only logged because aborting is used to clean up after another failure.
+     */
+    void abort() {
+        if (!this.inTransaction.getAndSet(false)) {
+            return;
+        }
+        log.warn("Aborting transaction after {} of {} offsets were acknowledged", this.acknowledged.get(),
+                this.sent.get());
+        try {
+            this.producer.abortTransaction();
+        } catch (final KafkaException e) {
+            log.warn("Failed to abort transaction", e);
+        }
+    }
+
+    long getSent() {
+        return this.sent.get();
+    }
+
+    long getCommitted() {
+        return this.committed.get();
+    }
+
+    private void commitTransaction() {
+        this.producer.flush();
+        this.checkError();
+        this.producer.commitTransaction();
+        this.inTransaction.set(false);
+        final long total = this.sent.get();
+        final long inTransaction = total - this.committed.getAndSet(total);
+        if (this.metrics != null) {
+            this.metrics.partitionsReset(inTransaction);
+        }
+        final long transaction = this.transactions.incrementAndGet();
+        if (this.maxRecordsPerTransaction > 0) {
+            log.info("Committed transaction {} with {} offsets, {} offsets committed in total", transaction,
+                    inTransaction, total);
+        }
+    }
+
+    private void checkError() {
+        final Exception exception = this.error.get();
+        if (exception != null) {
+            throw new ResetterException("Failed to send offset", exception);
+        }
+    }
+
+    private void onCompletion(final RecordMetadata metadata, final Exception exception) {
+        if (exception != null) {
+            if (this.error.compareAndSet(null, exception)) {
+                log.error("Failed to send offset", exception);
+            }
+            return;
+        }
+        final long count = this.acknowledged.incrementAndGet();
+        if (this.metrics != null) {
+            this.metrics.tombstoneAcknowledged();
+        }
+        if (count % PROGRESS_INTERVAL == 0) {
+            log.info("{} of {} offsets acknowledged", count, this.sent.get());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.Builder;
+import lombok.NonNull;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+/**
+ * Exports the metrics of a reset run in the OpenMetrics text format. Besides the metrics of the reset itself, the fetch
+ * metrics of the consumers and the produce metrics of the producer are included as gauges.
+ *
+ * <p>Metrics are pushed in the Prometheus text format 0.0.4 instead, which is the format accepted by the Prometheus
+ * Pushgateway. It differs in the names of counter families, the escaping of help texts and the missing {@code # EOF}
+ * marker.</p>
+ */
+@Builder
+final class OpenMetricsExporter {
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    static final String PUSH_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String PREFIX = "kafka_connect_resetter_";
+    private static final Set<String> CLIENT_METRIC_GROUPS =
+            Set.of("consumer-fetch-manager-metrics", "producer-metrics", "producer-topic-metrics");
+    private static final Duration PUSH_TIMEOUT = Duration.ofSeconds(30);
+    private final @NonNull String command;
+    private final @NonNull ResetMetrics metrics;
+    private final @NonNull Map<MetricName, ? extends Metric> clientMetrics;
+
+    private static String sanitize(final String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_").toLowerCase(Locale.ROOT);
+    }
+
+    private static String escape(final String value) {
+        return escapeHelp(value).replace("\"", "\\\"");
+    }
+
+    private static String escapeHelp(final String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String formatValue(final double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    private static String formatLabels(final Map<String, String> labels) {
+        final List<String> formatted = new ArrayList<>();
+        new TreeMap<>(labels).forEach((name, value) -> formatted.add(sanitize(name) + "=\"" + escape(value) + "\""));
+        return "{" + String.join(",", formatted) + "}";
+    }
+
+    /**
+     * Create the OpenMetrics text representation of all metrics
+     *
+     * @return metrics in OpenMetrics text format
+     */
+    String export() {
+        final StringBuilder builder = new StringBuilder();
+        this.collectFamilies().values().forEach(family -> family.appendOpenMetrics(builder));
+        builder.append("# EOF\n");
+        return builder.toString();
+    }
+
+    /**
+     * Create the Prometheus text representation of all metrics, which is used to push them
+     *
+     * @return metrics in Prometheus text format 0.0.4
+     */
+    String exportPrometheus() {
+        final StringBuilder builder = new StringBuilder();
+        this.collectFamilies().values().forEach(family -> family.appendPrometheus(builder));
+        return builder.toString();
+    }
+
+    /**
+     * Write all metrics to a file
+     *
+     * @param file file to write the metrics to
+     * @throws IOException if the file cannot be written
+     */
+    void write(final Path file) throws IOException {
+        Files.writeString(file, this.export(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Push all metrics to an HTTP endpoint, e.g., a Prometheus Pushgateway, in Prometheus text format
+     *
+     * @param uri endpoint to push the metrics to
+     * @throws IOException if the metrics cannot be sent or the endpoint does not accept them
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    void push(final URI uri) throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(PUSH_TIMEOUT)
+                .header("Content-Type", PUSH_CONTENT_TYPE)
+                .POST(BodyPublishers.ofString(this.exportPrometheus(), StandardCharsets.UTF_8))
+                .build();
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(PUSH_TIMEOUT)
+                .build();
+        final HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(
+                    String.format("Pushing metrics to %s failed with status %d: %s", uri, response.statusCode(),
+                            response.body()));
+        }
+    }
+
+    private Map<String, Family> collectFamilies() {
+        final Map<String, Family> families = new TreeMap<>();
+        this.addCounter(families, "records_scanned", "Records read from the offset topic",
+                this.metrics.getRecordsScanned());
+        this.addCounter(families, "bytes_read", "Bytes of keys and values read from the offset topic",
+                this.metrics.getBytesRead());
+        this.addCounter(families, "keys_matched", "Records of the offset topic that belong to the reset connectors",
+                this.metrics.getKeysMatched());
+        this.addCounter(families, "tombstones_sent", "Tombstones sent to the offset topic",
+                this.metrics.getTombstonesSent());
+        this.addCounter(families, "tombstones_acknowledged", "Tombstones acknowledged by the brokers",
+                this.metrics.getTombstonesAcknowledged());
+        this.addCounter(families, "partitions_reset", "Connector partitions reset in committed transactions",
+                this.metrics.getPartitionsReset());
+        this.addCounter(families, "consumer_group_partitions_altered", "Consumer group partitions altered",
+                this.metrics.getConsumerGroupPartitionsAltered());
+        final Family phaseDurations = families.computeIfAbsent(PREFIX + "phase_duration_seconds",
+                name -> new Family(name, "gauge", "Time spent per phase of the reset"));
+        this.metrics.getPhaseDurations().forEach((phase, millis) -> phaseDurations.samples.add(
+                phaseDurations.name + formatLabels(Map.of("command", this.command, "phase", phase)) + " "
+                        + formatValue(millis / 1000.0)));
+        this.clientMetrics.forEach((metricName, metric) -> {
+            if (CLIENT_METRIC_GROUPS.contains(metricName.group()) && metric.metricValue() instanceof Number) {
+                final String name = "kafka_" + sanitize(metricName.group()) + "_" + sanitize(metricName.name());
+                final Family family = families.computeIfAbsent(name,
+                        ignored -> new Family(name, "gauge", metricName.description()));
+                family.samples.add(name + formatLabels(metricName.tags()) + " "
+                        + formatValue(((Number) metric.metricValue()).doubleValue()));
+            }
+        });
+        return families;
+    }
+
+    private void addCounter(final Map<String, Family> families, final String name, final String help,
+            final long value) {
+        final Family family = new Family(PREFIX + name, "counter", help);
+        family.samples.add(family.name + "_total" + formatLabels(Map.of("command", this.command)) + " " + value);
+        families.put(family.name, family);
+    }
+
+    private static final class Family {
+        private final String name;
+        private final String type;
+        private final String help;
+        private final List<String> samples = new ArrayList<>();
+
+        private Family(final String name, final String type, final String help) {
+            this.name = name;
+            this.type = type;
+            this.help = help == null ? "" : help;
+        }
+
+        private void appendOpenMetrics(final StringBuilder builder) {
+            this.appendTo(builder, this.name, escape(this.help));
+        }
+
+        private void appendPrometheus(final StringBuilder builder) {
+            // Prometheus names counter families after their samples
+            final String familyName = "counter".equals(this.type) ? this.name + "_total" : this.name;
+            this.appendTo(builder, familyName, escapeHelp(this.help));
+        }
+
+        private void appendTo(final StringBuilder builder, final String familyName, final String escapedHelp) {
+            builder.append("# TYPE ").append(familyName).append(' ').append(this.type).append('\n');
+            if (!escapedHelp.isEmpty()) {
+                builder.append("# HELP ").append(familyName).append(' ').append(escapedHelp).append('\n');
+            }
+            this.samples.forEach(sample -> builder.append(sample).append('\n'));
+        }
+    }
+}
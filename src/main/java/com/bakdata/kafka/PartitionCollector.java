@@ -24,37 +24,81 @@
 
 package com.bakdata.kafka;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import lombok.Builder;
 import lombok.NonNull;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.connect.data.SchemaAndValue;
-import org.apache.kafka.connect.storage.Converter;
 
-@Slf4j
-@Builder
+/**
+ * Collects the distinct partitions of a connector from the Kafka Connect offset topic. The latest record of each
+ * partition wins: If it is a tombstone, the partition has already been reset and is not collected.
+ *
+ * <p>If a partition listener is configured, each partition is passed to the listener as soon as a live offset is seen
+ * for it for the first time. Because the partition might already have been handed on, later tombstones do not remove
+ * it from the collected partitions in that case, which then only serve to deduplicate partitions.</p>
+ *
+ * <p>If a partition filter is configured, only partitions matching the filter are collected. The filter is evaluated
+ * on the parsed key of each record that does not belong to an already collected partition. Rejected keys are not
+ * remembered, so that the memory used does not grow with the number of rejected partitions.</p>
+ *
+ * <p>Partitions are kept in a {@link ByteArraySet} unless a different store is configured, e.g., a
+ * {@link SpillingKeySet} to bound the memory used for connectors with very many partitions.</p>
+ */
 final class PartitionCollector {
-    private final Map<String, byte[]> partitions = new HashMap<>();
-    private final @NonNull Converter converter;
-    private final String topicName;
+    private final Collection<byte[]> partitions;
     private final @NonNull String connectorName;
+    private final Consumer<byte[]> partitionListener;
+    private final Predicate<OffsetKey> partitionFilter;
 
-    void handle(final byte[] bytes) {
-        final SchemaAndValue key = this.converter.toConnectData(this.topicName, bytes);
-        final Object value = key.value();
-        log.debug("Received record {}", value);
-        final String connector = ConnectorNameExtractor.extractConnectorName(value);
-        if (this.connectorName.equals(connector)) {
-            // We use a map to only collect distinct values. A set would not work because byte[] does not
-            // override equals and hashCode
-            this.partitions.put(new String(bytes, StandardCharsets.UTF_8), bytes);
+    @Builder
+    private PartitionCollector(final @NonNull String connectorName, final Consumer<byte[]> partitionListener,
+            final Predicate<OffsetKey> partitionFilter, final Supplier<? extends Collection<byte[]>> partitionStore) {
+        this.partitions = partitionStore == null ? new ByteArraySet() : partitionStore.get();
+        this.connectorName = connectorName;
+        this.partitionListener = partitionListener;
+        this.partitionFilter = partitionFilter;
+    }
+
+    /**
+     * Collect the partition of an offset record that is known to belong to the connector
+     *
+     * @param key parsed key of the offset record
+     * @param value value of the offset record
+     * @return whether the partition matches the partition filter
+     */
+    boolean update(final OffsetKey key, final byte[] value) {
+        final byte[] bytes = key.getBytes();
+        if (!this.isSelected(key)) {
+            return false;
+        }
+        if (this.partitionListener != null) {
+            if (value != null && this.partitions.add(bytes)) {
+                this.partitionListener.accept(bytes);
+            }
+        } else if (value == null) {
+            this.partitions.remove(bytes);
+        } else {
+            this.partitions.add(bytes);
         }
+        return true;
+    }
+
+    private boolean isSelected(final OffsetKey key) {
+        return this.partitionFilter == null || this.partitions.contains(key.getBytes())
+                || this.partitionFilter.test(key);
+    }
+
+    void merge(final PartitionCollector other) {
+        this.partitions.addAll(other.partitions);
+    }
+
+    String getConnectorName() {
+        return this.connectorName;
     }
 
     Collection<byte[]> getPartitions() {
-        return this.partitions.values();
+        return this.partitions;
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import picocli.CommandLine.ITypeConverter;
+
+/**
+ * Filter over the connector specific partition of a Kafka Connect offset key, i.e., the second element of
+ * {@code ["connector-name", {"table": "orders"}]}. Supported expressions are {@code field=value} to match a field
+ * exactly, {@code field^=prefix} to match the beginning of a field and {@code field~=regex} to match a field
+ * completely against a regular expression. Non-string fields are compared by their JSON text.
+ *
+ * <p>Filters are evaluated on the raw bytes of an already parsed {@link OffsetKey}, so the partition is never
+ * materialized.</p>
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class PartitionFilter {
+    private final String expression;
+    private final String field;
+    private final Operator operator;
+    private final String value;
+    private final Pattern pattern;
+
+    static PartitionFilter parse(final String expression) {
+        final int equals = expression.indexOf('=');
+        if (equals < 1) {
+            throw invalid(expression, null);
+        }
+        final char previous = expression.charAt(equals - 1);
+        final Operator operator = previous == '^' ? Operator.PREFIX
+                : previous == '~' ? Operator.REGEX : Operator.EQUALS;
+        final String field = expression.substring(0, operator == Operator.EQUALS ? equals : equals - 1);
+        if (field.isEmpty()) {
+            throw invalid(expression, null);
+        }
+        final String value = expression.substring(equals + 1);
+        try {
+            final Pattern pattern = operator == Operator.REGEX ? Pattern.compile(value) : null;
+            return new PartitionFilter(expression, field, operator, value, pattern);
+        } catch (final PatternSyntaxException e) {
+            throw invalid(expression, e);
+        }
+    }
+
+    /**
+     * Create a predicate that matches offset keys whose partition matches all filters
+     *
+     * @param filters filters to combine
+     * @return predicate over parsed offset keys
+     */
+    static Predicate<OffsetKey> all(final List<PartitionFilter> filters) {
+        return key -> filters.stream().allMatch(filter -> filter.test(key));
+    }
+
+    private static IllegalArgumentException invalid(final String expression, final Throwable cause) {
+        return new IllegalArgumentException(String.format(
+                "Invalid partition filter '%s'. Expected field=value, field^=prefix or field~=regex", expression),
+                cause);
+    }
+
+    /**
+     * Test the partition of an offset key
+     *
+     * @param key parsed offset key
+     * @return whether the field of the partition matches
+     */
+    boolean test(final OffsetKey key) {
+        final String text = OffsetKeyParser.readPartitionField(key, this.field);
+        if (text == null) {
+            return false;
+        }
+        return switch (this.operator) {
+            case EQUALS -> this.value.equals(text);
+            case PREFIX -> text.startsWith(this.value);
+            case REGEX -> this.pattern.matcher(text).matches();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return this.expression;
+    }
+
+    private enum Operator {
+        EQUALS,
+        PREFIX,
+        REGEX
+    }
+
+    static final class Converter implements ITypeConverter<PartitionFilter> {
+        @Override
+        public PartitionFilter convert(final String value) {
+            return parse(value);
+        }
+    }
+}
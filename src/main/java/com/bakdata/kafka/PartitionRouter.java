@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+
+/**
+ * Routes records of the Kafka Connect offset topic to a {@link PartitionCollector} per connector. Connectors are
+ * selected by name or by a regular expression that has to match the complete connector name. If only names are given,
+ * a {@link ConnectorNamePrefilter} checks the raw bytes of each key against all names at once, so that keys of other
+ * connectors are rejected without parsing them or creating objects, independent of the number of selected
+ * connectors. An optional partition listener, an optional partition filter and an optional store for the partitions
+ * are passed on to all collectors.
+ */
+final class PartitionRouter {
+    private final Map<String, PartitionCollector> collectors = new LinkedHashMap<>();
+    private final Set<String> connectorNames;
+    private final Pattern connectorPattern;
+    private final ConnectorNamePrefilter prefilter;
+    private final Consumer<byte[]> partitionListener;
+    private final Predicate<OffsetKey> partitionFilter;
+    private final Supplier<? extends Collection<byte[]>> partitionStore;
+
+    @Builder
+    private PartitionRouter(final @Singular @NonNull Collection<String> connectorNames,
+            final Pattern connectorPattern, final Consumer<byte[]> partitionListener,
+            final Predicate<OffsetKey> partitionFilter, final Supplier<? extends Collection<byte[]>> partitionStore) {
+        this.connectorNames = Set.copyOf(connectorNames);
+        this.connectorPattern = connectorPattern;
+        this.prefilter = connectorPattern == null ? new ConnectorNamePrefilter(this.connectorNames) : null;
+        this.partitionListener = partitionListener;
+        this.partitionFilter = partitionFilter;
+        this.partitionStore = partitionStore;
+        connectorNames.forEach(
+                connectorName -> this.collectors.put(connectorName, this.createCollector(connectorName)));
+    }
+
+    /**
+     * Route a record to the collector of its connector
+     *
+     * @param bytes key of the offset record
+     * @param value value of the offset record
+     * @return whether the record belongs to a selected connector and matches the partition filter
+     */
+    boolean handle(final byte[] bytes, final byte[] value) {
+        if (this.isRejectedByName(bytes)) {
+            return false;
+        }
+        final OffsetKey key = OffsetKeyParser.parse(bytes);
+        return this.handle(ConnectorNameExtractor.extractConnectorName(key), key, value);
+    }
+
+    /**
+     * Get the name of the connector a key belongs to if the connector is selected. Only the configured selection is
+     * read, so this method can be called concurrently as long as no records are routed.
+     *
+     * @param bytes key of the offset record
+     * @return name of the connector or {@code null} if the connector is not selected
+     */
+    String selectConnector(final byte[] bytes) {
+        if (this.isRejectedByName(bytes)) {
+            return null;
+        }
+        final String connector = ConnectorNameExtractor.extractConnectorName(OffsetKeyParser.parse(bytes));
+        return this.isSelected(connector) ? connector : null;
+    }
+
+    /**
+     * Route a record whose connector name is already known
+     *
+     * @param connector name of the connector the record belongs to
+     * @param key parsed key of the offset record
+     * @param value value of the offset record
+     * @return whether the record belongs to a selected connector and matches the partition filter
+     */
+    boolean handle(final String connector, final OffsetKey key, final byte[] value) {
+        final PartitionCollector collector = this.collectors.get(connector);
+        if (collector != null) {
+            return collector.update(key, value);
+        }
+        if (this.connectorPattern != null && this.connectorPattern.matcher(connector).matches()) {
+            final PartitionCollector newCollector = this.createCollector(connector);
+            this.collectors.put(connector, newCollector);
+            return newCollector.update(key, value);
+        }
+        return false;
+    }
+
+    void merge(final PartitionRouter other) {
+        other.collectors.forEach((connectorName, collector) -> this.collectors
+                .computeIfAbsent(connectorName, this::createCollector)
+                .merge(collector));
+    }
+
+    Collection<PartitionCollector> getCollectors() {
+        return this.collectors.values();
+    }
+
+    private boolean isRejectedByName(final byte[] bytes) {
+        // key definitely belongs to a different connector and does not need to be parsed
+        return this.prefilter != null && !this.prefilter.test(bytes);
+    }
+
+    private boolean isSelected(final String connector) {
+        return this.connectorNames.contains(connector)
+                || this.connectorPattern != null && this.connectorPattern.matcher(connector).matches();
+    }
+
+    private PartitionCollector createCollector(final String connectorName) {
+        return PartitionCollector.builder()
+                .connectorName(connectorName)
+                .partitionListener(this.partitionListener)
+                .partitionFilter(this.partitionFilter)
+                .partitionStore(this.partitionStore)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Set of byte arrays that only remembers recently added elements. Elements are kept in two generations of
+ * {@link ByteArraySet}. Once the current generation holds the maximum number of elements, the previous generation is
+ * dropped and a new generation is started. Elements found in the previous generation are moved to the current one.
+ * The set therefore holds at most twice the maximum number of elements.
+ *
+ * <p>Forgotten elements can be added again, i.e., {@link #add(byte[])} only reliably reports duplicates of recently
+ * added elements. This is sufficient for avoiding most duplicate tombstones while bounding memory.</p>
+ */
+final class RecentKeySet extends AbstractCollection<byte[]> {
+    private final int maxSize;
+    private ByteArraySet current = new ByteArraySet();
+    private ByteArraySet previous = new ByteArraySet();
+
+    /**
+     * Create a new set
+     *
+     * @param maxSize number of elements per generation
+     */
+    RecentKeySet(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive but was " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public boolean add(final byte[] bytes) {
+        if (this.current.contains(bytes)) {
+            return false;
+        }
+        final boolean recent = this.previous.remove(bytes);
+        if (this.current.size() >= this.maxSize) {
+            this.previous = this.current;
+            this.current = new ByteArraySet();
+        }
+        this.current.add(bytes);
+        return !recent;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return this.current.contains(o) || this.previous.contains(o);
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        // generations are disjoint
+        return this.current.remove(o) || this.previous.remove(o);
+    }
+
+    @Override
+    public int size() {
+        return this.current.size() + this.previous.size();
+    }
+
+    @Override
+    public Iterator<byte[]> iterator() {
+        return Stream.concat(this.current.stream(), this.previous.stream()).iterator();
+    }
+}
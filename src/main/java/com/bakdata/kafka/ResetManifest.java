@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Manifest of a dry run of the source resetter. It contains the offset keys that would be reset for each connector and
+ * the end offsets of the offset topic up to which it has been scanned. A manifest can be applied later on without
+ * scanning the offset topic again.
+ *
+ * <p>Keys are stored length-prefixed and read one at a time, so that applying a manifest does not need to hold all
+ * keys in memory.</p>
+ */
+@Slf4j
+final class ResetManifest implements AutoCloseable {
+    private static final int FORMAT_VERSION = 1;
+    private final DataInputStream input;
+    private final Path file;
+    @Getter
+    private final String topic;
+    @Getter
+    private final Map<TopicPartition, Long> endOffsets;
+
+    private ResetManifest(final DataInputStream input, final Path file) throws IOException {
+        this.input = input;
+        this.file = file;
+        final int version = input.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException(
+                    String.format("Manifest %s has unsupported version %d", file, version));
+        }
+        this.topic = input.readUTF();
+        final int numPartitions = input.readInt();
+        final Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (int i = 0; i < numPartitions; i++) {
+            offsets.put(new TopicPartition(this.topic, input.readInt()), input.readLong());
+        }
+        this.endOffsets = Collections.unmodifiableMap(offsets);
+    }
+
+    /**
+     * Open a manifest and read its header. Keys are read with {@link #forEachKey(BiConsumer)}.
+     *
+     * @param file file to read the manifest from
+     * @return opened manifest
+     */
+    static ResetManifest open(final Path file) {
+        InputStream inputStream = null;
+        try {
+            inputStream = Files.newInputStream(file);
+            return new ResetManifest(new DataInputStream(new BufferedInputStream(inputStream)), file);
+        } catch (final IOException e) {
+            closeQuietly(inputStream);
+            throw new UncheckedIOException("Failed to read manifest " + file, e);
+        } catch (final RuntimeException e) {
+            closeQuietly(inputStream);
+            throw e;
+        }
+    }
+
+    /**
+     * Write a manifest to a file
+     *
+     * @param file file to write the manifest to
+     * @param topic name of the offset topic
+     * @param endOffsets end offsets up to which the offset topic has been scanned
+     * @param collectors partitions to reset by connector
+     */
+    static void write(final Path file, final String topic, final Map<TopicPartition, Long> endOffsets,
+            final Iterable<PartitionCollector> collectors) {
+        final Path absoluteFile = file.toAbsolutePath();
+        try {
+            final Path temporaryFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName()
+                    .toString(), ".tmp");
+            try {
+                try (final OutputStream outputStream = Files.newOutputStream(temporaryFile);
+                        final DataOutputStream output = new DataOutputStream(
+                                new BufferedOutputStream(outputStream))) {
+                    output.writeInt(FORMAT_VERSION);
+                    output.writeUTF(topic);
+                    output.writeInt(endOffsets.size());
+                    for (final Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+                        output.writeInt(entry.getKey().partition());
+                        output.writeLong(entry.getValue());
+                    }
+                    for (final PartitionCollector collector : collectors) {
+                        writeConnector(output, collector.getConnectorName(), collector.getPartitions());
+                    }
+                    output.writeBoolean(false);
+                }
+                Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to write manifest " + file, e);
+        }
+        log.info("Wrote manifest {} of topic {} with end offsets {}", file, topic, endOffsets);
+    }
+
+    private static void writeConnector(final DataOutputStream output, final String connector,
+            final Collection<byte[]> keys) throws IOException {
+        output.writeBoolean(true);
+        output.writeUTF(connector);
+        output.writeInt(keys.size());
+        // forEach closes spilled keys even if writing fails
+        keys.forEach(key -> {
+            try {
+                output.writeInt(key.length);
+                output.write(key);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to write partitions of connector " + connector, e);
+            }
+        });
+    }
+
+    private static void closeQuietly(final InputStream inputStream) {
+        if (inputStream == null) {
+            return;
+        }
+        try {
+            inputStream.close();
+        } catch (final IOException e) {
+            log.debug("Failed to close manifest", e);
+        }
+    }
+
+    /**
+     * Read all keys of the manifest. Can only be called once.
+     *
+     * @param keyConsumer consumer of the name of the connector and the key of each offset record to reset
+     */
+    void forEachKey(final BiConsumer<String, byte[]> keyConsumer) {
+        try {
+            while (this.input.readBoolean()) {
+                final String connector = this.input.readUTF();
+                final int numKeys = this.input.readInt();
+                for (int i = 0; i < numKeys; i++) {
+                    final byte[] key = new byte[this.input.readInt()];
+                    this.input.readFully(key);
+                    keyConsumer.accept(connector, key);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read manifest " + this.file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.input.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to close manifest " + this.file, e);
+        }
+    }
+}
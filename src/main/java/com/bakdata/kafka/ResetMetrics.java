@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Metrics of a single reset run. All methods are thread-safe, so that the metrics can be updated by multiple scan
+ * workers and producer callbacks concurrently.
+ */
+final class ResetMetrics implements ResetMetricsMXBean {
+    private final LongAdder recordsScanned = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder keysMatched = new LongAdder();
+    private final LongAdder tombstonesSent = new LongAdder();
+    private final LongAdder tombstonesAcknowledged = new LongAdder();
+    private final LongAdder partitionsReset = new LongAdder();
+    private final LongAdder consumerGroupPartitionsAltered = new LongAdder();
+    private final Map<TopicPartition, Long> lag = new ConcurrentHashMap<>();
+    private final Map<String, Duration> phaseDurations = new ConcurrentHashMap<>();
+
+    void recordScanned(final int bytes) {
+        this.recordsScanned.increment();
+        this.bytesRead.add(bytes);
+    }
+
+    void keyMatched() {
+        this.keysMatched.increment();
+    }
+
+    void tombstoneSent() {
+        this.tombstonesSent.increment();
+    }
+
+    void tombstoneAcknowledged() {
+        this.tombstonesAcknowledged.increment();
+    }
+
+    void partitionsReset(final long count) {
+        this.partitionsReset.add(count);
+    }
+
+    void consumerGroupPartitionsAltered(final long count) {
+        this.consumerGroupPartitionsAltered.add(count);
+    }
+
+    void updateLag(final TopicPartition topicPartition, final long partitionLag) {
+        this.lag.put(topicPartition, partitionLag);
+    }
+
+    /**
+     * Run a phase of the reset and add its duration to the phase durations
+     *
+     * @param phase name of the phase
+     * @param action action to run
+     * @param <T> type of the result of the action
+     * @return result of the action
+     */
+    <T> T time(final String phase, final Supplier<T> action) {
+        final long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            this.phaseDurations.merge(phase, Duration.ofNanos(System.nanoTime() - start), Duration::plus);
+        }
+    }
+
+    void time(final String phase, final Runnable action) {
+        this.time(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public long getRecordsScanned() {
+        return this.recordsScanned.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return this.bytesRead.sum();
+    }
+
+    @Override
+    public long getKeysMatched() {
+        return this.keysMatched.sum();
+    }
+
+    @Override
+    public long getTombstonesSent() {
+        return this.tombstonesSent.sum();
+    }
+
+    @Override
+    public long getTombstonesAcknowledged() {
+        return this.tombstonesAcknowledged.sum();
+    }
+
+    @Override
+    public long getPartitionsReset() {
+        return this.partitionsReset.sum();
+    }
+
+    @Override
+    public long getConsumerGroupPartitionsAltered() {
+        return this.consumerGroupPartitionsAltered.sum();
+    }
+
+    @Override
+    public long getTotalLag() {
+        return this.lag.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public Map<String, Long> getLag() {
+        final Map<String, Long> lagByPartition = new TreeMap<>();
+        this.lag.forEach((topicPartition, partitionLag) -> lagByPartition.put(topicPartition.toString(),
+                partitionLag));
+        return lagByPartition;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseDurations() {
+        final Map<String, Long> durations = new TreeMap<>();
+        this.phaseDurations.forEach((phase, duration) -> durations.put(phase, duration.toMillis()));
+        return durations;
+    }
+
+    /**
+     * Create a summary of all metrics that can be serialized to JSON
+     *
+     * @return summary of the metrics
+     */
+    Map<String, Object> toSummary() {
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("recordsScanned", this.getRecordsScanned());
+        summary.put("bytesRead", this.getBytesRead());
+        summary.put("keysMatched", this.getKeysMatched());
+        summary.put("tombstonesSent", this.getTombstonesSent());
+        summary.put("tombstonesAcknowledged", this.getTombstonesAcknowledged());
+        summary.put("partitionsReset", this.getPartitionsReset());
+        summary.put("consumerGroupPartitionsAltered", this.getConsumerGroupPartitionsAltered());
+        summary.put("lag", this.getLag());
+        summary.put("phaseDurationsMs", this.getPhaseDurations());
+        return summary;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("scanned %d records (%d bytes), matched %d keys, %d records left to scan, "
+                        + "sent %d tombstones, %d acknowledged", this.getRecordsScanned(), this.getBytesRead(),
+                this.getKeysMatched(), this.getTotalLag(), this.getTombstonesSent(),
+                this.getTombstonesAcknowledged());
+    }
+}
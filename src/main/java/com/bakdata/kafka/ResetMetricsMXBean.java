@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics of a reset run. Registered as {@code com.bakdata.kafka:type=ResetMetrics} while a reset is
+ * running.
+ */
+public interface ResetMetricsMXBean {
+    long getRecordsScanned();
+
+    long getBytesRead();
+
+    long getKeysMatched();
+
+    long getTombstonesSent();
+
+    long getTombstonesAcknowledged();
+
+    long getPartitionsReset();
+
+    long getConsumerGroupPartitionsAltered();
+
+    /**
+     * Get the number of records of the offset topic that still need to be scanned
+     *
+     * @return sum of the lag of all partitions
+     */
+    long getTotalLag();
+
+    /**
+     * Get the number of records that still need to be scanned per partition of the offset topic
+     *
+     * @return lag by partition
+     */
+    Map<String, Long> getLag();
+
+    /**
+     * Get the time spent per phase of the reset
+     *
+     * @return duration in milliseconds by phase
+     */
+    Map<String, Long> getPhaseDurations();
+}
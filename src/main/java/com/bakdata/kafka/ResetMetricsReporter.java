@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+/**
+ * Reports the metrics of a reset run. While the reset is running, the metrics are registered as MBean and progress is
+ * logged periodically. When the reporter is closed, a summary is logged and optionally written to a JSON file. The
+ * metrics, including those of the Kafka clients, can also be written to a file in OpenMetrics text format or pushed to
+ * an HTTP endpoint in Prometheus text format.
+ */
+@Slf4j
+final class ResetMetricsReporter implements AutoCloseable {
+    private static final String OBJECT_NAME = "com.bakdata.kafka:type=ResetMetrics";
+    private final @NonNull ResetMetrics metrics;
+    private final @NonNull String command;
+    private final @NonNull Supplier<? extends Map<MetricName, ? extends Metric>> clientMetrics;
+    private final Path metricsFile;
+    private final @NonNull Duration progressInterval;
+    private final Path openMetricsFile;
+    private final URI openMetricsUrl;
+    private final ScheduledExecutorService scheduler;
+    private ObjectName objectName;
+
+    @Builder
+    private ResetMetricsReporter(final @NonNull ResetMetrics metrics, final @NonNull String command,
+            final @NonNull Supplier<? extends Map<MetricName, ? extends Metric>> clientMetrics, final Path metricsFile,
+            final @NonNull Duration progressInterval, final Path openMetricsFile, final URI openMetricsUrl) {
+        this.metrics = metrics;
+        this.command = command;
+        this.clientMetrics = clientMetrics;
+        this.metricsFile = metricsFile;
+        this.progressInterval = progressInterval;
+        this.openMetricsFile = openMetricsFile;
+        this.openMetricsUrl = openMetricsUrl;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "reset-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    ResetMetricsReporter start() {
+        this.register();
+        final long interval = this.progressInterval.toMillis();
+        if (interval > 0L) {
+            this.scheduler.scheduleAtFixedRate(() -> log.info("Progress: {}", this.metrics), interval, interval,
+                    TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        this.unregister();
+        log.info("Summary: {}, phase durations {}", this.metrics, this.metrics.getPhaseDurations());
+        if (this.metricsFile != null) {
+            this.writeSummary();
+        }
+        if (this.openMetricsFile != null || this.openMetricsUrl != null) {
+            this.exportOpenMetrics();
+        }
+    }
+
+    private void exportOpenMetrics() {
+        final OpenMetricsExporter exporter = OpenMetricsExporter.builder()
+                .command(this.command)
+                .metrics(this.metrics)
+                .clientMetrics(this.clientMetrics.get())
+                .build();
+        if (this.openMetricsFile != null) {
+            try {
+                exporter.write(this.openMetricsFile);
+                log.info("Wrote OpenMetrics to {}", this.openMetricsFile);
+            } catch (final IOException e) {
+                log.warn("Failed to write OpenMetrics to {}", this.openMetricsFile, e);
+            }
+        }
+        if (this.openMetricsUrl != null) {
+            try {
+                exporter.push(this.openMetricsUrl);
+                log.info("Pushed OpenMetrics to {}", this.openMetricsUrl);
+            } catch (final IOException e) {
+                log.warn("Failed to push OpenMetrics to {}", this.openMetricsUrl, e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while pushing OpenMetrics to {}", this.openMetricsUrl, e);
+            }
+        }
+    }
+
+    private void writeSummary() {
+        try {
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(this.metricsFile.toFile(), this.metrics.toSummary());
+            log.info("Wrote metrics to {}", this.metricsFile);
+        } catch (final IOException e) {
+            log.warn("Failed to write metrics to {}", this.metricsFile, e);
+        }
+    }
+
+    private void register() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                // another reset is still running in this JVM
+                return;
+            }
+            server.registerMBean(this.metrics, name);
+            this.objectName = name;
+        } catch (final JMException e) {
+            log.warn("Failed to register metrics MBean", e);
+        }
+    }
+
+    private void unregister() {
+        if (this.objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        } catch (final JMException e) {
+            log.warn("Failed to unregister metrics MBean", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import picocli.CommandLine;
+import picocli.CommandLine.Model.OptionSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParseResult;
+
+/**
+ * HTTP server that runs resets with long-lived {@link ResetterClients}. Resets are requested with {@code POST /source}
+ * or {@code POST /sink}. The request body is a JSON array of the arguments of the respective command, e.g.,
+ * {@code ["my-connector", "--offset-topic", "connect-offsets"]}. Brokers and client configuration are those of the
+ * server. Requests are handled by a thread pool, so that {@code GET /health} is answered while a reset is running and
+ * can be used as liveness probe. Resets are run one at a time in the order they arrive.
+ *
+ * <p>The server does not authenticate requests. Options that read or write files or directories of the server, e.g.,
+ * {@code --backup-file} or {@code --metrics-file}, are therefore rejected.</p>
+ *
+ * <p>Requests with invalid arguments are answered with status 400. All failures of the reset itself, including
+ * malformed records in the offset topic, are answered with status 500.</p>
+ */
+@Slf4j
+final class ResetServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Lock resetLock = new ReentrantLock(true);
+    private final ResetterClients clients;
+    private final String brokers;
+
+    private ResetServer(final HttpServer server, final ResetterClients clients, final String brokers) {
+        this.server = server;
+        this.clients = clients;
+        this.brokers = brokers;
+        server.setExecutor(this.executor);
+        server.createContext("/source", exchange -> this.handleReset(exchange, this::resetSource));
+        server.createContext("/sink", exchange -> this.handleReset(exchange, this::resetSink));
+        server.createContext("/health", exchange -> respond(exchange, 200, "OK"));
+    }
+
+    /**
+     * Create and start a server
+     *
+     * @param address address to listen on
+     * @param clients clients used for all resets. They are not closed by the server.
+     * @param brokers list of Kafka brokers passed to each command
+     * @return started server
+     * @throws IOException if the server cannot be bound to the address
+     */
+    static ResetServer start(final InetSocketAddress address, final ResetterClients clients, final String brokers)
+            throws IOException {
+        final ResetServer resetServer = new ResetServer(HttpServer.create(address, 0), clients, brokers);
+        resetServer.server.start();
+        log.info("Listening on {}", resetServer.getAddress());
+        return resetServer;
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String message)
+            throws IOException {
+        final byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static String[] readArguments(final HttpExchange exchange) throws IOException {
+        try (final InputStream inputStream = exchange.getRequestBody()) {
+            return MAPPER.readValue(inputStream, String[].class);
+        }
+    }
+
+    private static void parseArguments(final CommandLine commandLine, final String[] arguments,
+            final Runnable validation) {
+        final ParseResult parseResult = commandLine.parseArgs(arguments);
+        rejectFileOptions(commandLine, parseResult);
+        try {
+            validation.run();
+        } catch (final IllegalArgumentException e) {
+            throw new ParameterException(commandLine, e.getMessage(), e);
+        }
+    }
+
+    private static void rejectFileOptions(final CommandLine commandLine, final ParseResult parseResult) {
+        for (final OptionSpec option : parseResult.matchedOptions()) {
+            if (Path.class.equals(option.type())) {
+                throw new ParameterException(commandLine, String.format(
+                        "Option %s accesses files of the server and cannot be used in a request",
+                        option.longestName()));
+            }
+        }
+    }
+
+    InetSocketAddress getAddress() {
+        return this.server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    private void handleReset(final HttpExchange exchange, final Consumer<String[]> reset) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "Method not allowed");
+                return;
+            }
+            final String[] arguments;
+            try {
+                arguments = readArguments(exchange);
+            } catch (final IOException e) {
+                respond(exchange, 400, "Request body must be a JSON array of arguments");
+                return;
+            }
+            final List<String> allArguments = new ArrayList<>(List.of("--brokers", this.brokers));
+            allArguments.addAll(Arrays.asList(arguments));
+            try {
+                reset.accept(allArguments.toArray(String[]::new));
+            } catch (final ParameterException e) {
+                respond(exchange, 400, e.getMessage());
+                return;
+            } catch (final RuntimeException e) {
+                log.error("Failed to reset {}", Arrays.asList(arguments), e);
+                respond(exchange, 500, e.getMessage());
+                return;
+            }
+            respond(exchange, 200, "Reset finished");
+        }
+    }
+
+    private void resetSource(final String[] arguments) {
+        final KafkaConnectSourceResetter resetter = new KafkaConnectSourceResetter();
+        parseArguments(new CommandLine(resetter), arguments, resetter::validate);
+        this.runExclusively(() -> {
+            try {
+                resetter.reset(this.clients);
+            } catch (final RuntimeException e) {
+                // the transaction might have failed with an error the producer cannot recover from
+                this.clients.discardProducer();
+                throw e;
+            }
+        });
+    }
+
+    private void resetSink(final String[] arguments) {
+        final KafkaConnectSinkResetter resetter = new KafkaConnectSinkResetter();
+        parseArguments(new CommandLine(resetter), arguments, resetter::validate);
+        this.runExclusively(() -> resetter.reset(this.clients.getAdminClient()));
+    }
+
+    private void runExclusively(final Runnable reset) {
+        // clients are shared by all resets and must only be used by one reset at a time
+        this.resetLock.lock();
+        try {
+            reset.run();
+        } finally {
+            this.resetLock.unlock();
+        }
+    }
+}
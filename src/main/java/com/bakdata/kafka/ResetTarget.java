@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import picocli.CommandLine.ITypeConverter;
+
+/**
+ * Position to which the offsets of a consumer group are reset. Supported values are {@code earliest}, {@code latest},
+ * an ISO-8601 timestamp, e.g., {@code 2024-01-01T00:00:00Z}, or an ISO-8601 duration before now, e.g.,
+ * {@code PT1H}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ResetTarget {
+    static final ResetTarget EARLIEST = new ResetTarget("earliest", null, null);
+    static final ResetTarget LATEST = new ResetTarget("latest", null, null);
+    private final String description;
+    private final Instant timestamp;
+    private final Duration duration;
+
+    static ResetTarget parse(final String value) {
+        final String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if ("earliest".equals(normalized)) {
+            return EARLIEST;
+        }
+        if ("latest".equals(normalized)) {
+            return LATEST;
+        }
+        try {
+            if (normalized.startsWith("p") || normalized.startsWith("-p")) {
+                return new ResetTarget(value, null, Duration.parse(value.trim()).abs());
+            }
+            return new ResetTarget(value, Instant.parse(value.trim()), null);
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid reset target '%s'. Expected earliest, latest, an ISO-8601 timestamp or duration", value),
+                    e);
+        }
+    }
+
+    /**
+     * Create the {@link OffsetSpec} to look up the offsets for this target
+     *
+     * @param now current time used to resolve durations
+     * @return offset spec
+     */
+    OffsetSpec toOffsetSpec(final Instant now) {
+        if (this == EARLIEST) {
+            return OffsetSpec.earliest();
+        }
+        if (this == LATEST) {
+            return OffsetSpec.latest();
+        }
+        final Instant instant = this.timestamp != null ? this.timestamp : now.minus(this.duration);
+        return OffsetSpec.forTimestamp(instant.toEpochMilli());
+    }
+
+    @Override
+    public String toString() {
+        return this.description;
+    }
+
+    static final class Converter implements ITypeConverter<ResetTarget> {
+        @Override
+        public ResetTarget convert(final String value) {
+            return parse(value);
+        }
+    }
+}
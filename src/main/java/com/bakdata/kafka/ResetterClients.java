@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka clients used by the resetters. Clients are created on first use and kept until this instance is closed, so
+ * that a long-running process can run many resets without bootstrapping new clients each time. The producer is
+ * transactional and its transactions are initialized when it is created.
+ *
+ * <p>Clients are not thread-safe and must only be used by one reset at a time.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+final class ResetterClients implements AutoCloseable {
+    private final @NonNull Map<String, Object> kafkaConfig;
+    private final List<KafkaConsumer<byte[], byte[]>> consumers = new ArrayList<>();
+    private Admin adminClient;
+    private Producer<byte[], byte[]> producer;
+
+    synchronized Admin getAdminClient() {
+        if (this.adminClient == null) {
+            this.adminClient = Admin.create(this.kafkaConfig);
+        }
+        return this.adminClient;
+    }
+
+    /**
+     * Get consumers for reading the offset topic. Each consumer has a distinct client id. Consumers always read
+     * committed records only, so that tombstones of aborted resets are not mistaken for completed resets.
+     *
+     * @param count number of consumers
+     * @return list of consumers of the requested size
+     */
+    synchronized List<KafkaConsumer<byte[], byte[]>> getConsumers(final int count) {
+        while (this.consumers.size() < count) {
+            final Map<String, Object> consumerConfig = new HashMap<>(this.kafkaConfig);
+            final Object clientId = this.kafkaConfig.get(ConsumerConfig.CLIENT_ID_CONFIG);
+            if (clientId != null) {
+                consumerConfig.put(ConsumerConfig.CLIENT_ID_CONFIG, clientId + "-" + this.consumers.size());
+            }
+            consumerConfig.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG,
+                    IsolationLevel.READ_COMMITTED.toString().toLowerCase(Locale.ROOT));
+            final Deserializer<byte[]> deserializer = new ByteArrayDeserializer();
+            this.consumers.add(new KafkaConsumer<>(consumerConfig, deserializer, deserializer));
+        }
+        return this.consumers.subList(0, count);
+    }
+
+    synchronized Producer<byte[], byte[]> getProducer() {
+        if (this.producer == null) {
+            final Map<String, Object> producerConfig = new HashMap<>(OffsetWriter.PRODUCER_DEFAULTS);
+            producerConfig.putAll(this.kafkaConfig);
+            final Serializer<byte[]> serializer = new ByteArraySerializer();
+            this.producer = new KafkaProducer<>(producerConfig, serializer, serializer);
+            this.producer.initTransactions();
+        }
+        return this.producer;
+    }
+
+    /**
+     * Close the producer so that a new one is created on next use. This is required after a transaction failed with
+     * an error that the producer cannot recover from.
+     */
+    synchronized void discardProducer() {
+        if (this.producer != null) {
+            this.producer.close();
+            this.producer = null;
+        }
+    }
+
+    /**
+     * Get the metrics of all consumers and of the producer that have been created so far
+     *
+     * @return metrics of the clients
+     */
+    synchronized Map<MetricName, Metric> metrics() {
+        final Map<MetricName, Metric> metrics = new HashMap<>();
+        this.consumers.forEach(consumer -> metrics.putAll(consumer.metrics()));
+        if (this.producer != null) {
+            metrics.putAll(this.producer.metrics());
+        }
+        return metrics;
+    }
+
+    @Override
+    public synchronized void close() {
+        this.discardProducer();
+        this.consumers.forEach(KafkaConsumer::close);
+        this.consumers.clear();
+        if (this.adminClient != null) {
+            this.adminClient.close();
+            this.adminClient = null;
+        }
+    }
+}
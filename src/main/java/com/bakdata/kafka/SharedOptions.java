@@ -24,8 +24,12 @@
 
 package com.bakdata.kafka;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.kafka.clients.CommonClientConfigs;
@@ -37,14 +41,28 @@ import picocli.CommandLine;
 @Getter
 @Setter
 public class SharedOptions {
-    @CommandLine.Parameters(index = "0", description = "Connector to reset")
-    private String connectorName;
+    @CommandLine.Parameters(index = "0..*", arity = "0..*", description = "Connectors to select")
+    private List<String> connectorNames = new ArrayList<>();
+    @CommandLine.Option(names = "--connector-pattern",
+            description = "Regular expression matching the names of additional connectors to select")
+    private Pattern connectorPattern;
     @CommandLine.Option(names = "--brokers", description = "List of Kafka brokers", required = true)
     private String brokers;
     @CommandLine.Option(names = "--config", description = "Kafka client and producer configuration properties",
             split = ",")
     private Map<String, String> config = new HashMap<>();
 
+    void validateConnectorSelection() {
+        if (this.connectorNames.isEmpty() && this.connectorPattern == null) {
+            throw new IllegalArgumentException("Either connector names or a connector pattern need to be specified");
+        }
+    }
+
+    String describeConnectorSelection() {
+        return String.format("names %s, pattern %s", new TreeSet<>(this.connectorNames),
+                this.connectorPattern == null ? null : this.connectorPattern.pattern());
+    }
+
     Map<String, Object> createKafkaConfig() {
         final Map<String, Object> properties = new HashMap<>(this.config);
         properties.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, this.brokers);
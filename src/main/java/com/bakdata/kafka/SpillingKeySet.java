@@ -0,0 +1,409 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Set of byte arrays with bounded memory. Elements are kept in a {@link ByteArraySet} until their estimated size
+ * exceeds a threshold. The elements and removals recorded so far are then written to a sorted run in a directory and
+ * memory is freed. When the set is read, all runs are merged into a single run of the remaining elements, where the
+ * latest run wins for elements contained in several runs. The merged run is streamed, so that reading does not need
+ * to hold all elements in memory either. {@link #forEach(Consumer)} closes the merged run even if the action fails,
+ * whereas iterators returned by {@link #iterator()} only close it once they have been read to the end or closed.
+ *
+ * <p>This set does not fulfill the contract of {@link java.util.Collection} for modifications and lookups, which only
+ * consider elements that are still in memory. {@link #contains(Object)} returns false for elements that have been
+ * spilled, {@link #add(byte[])} returns true for them, and {@link #remove(Object)} returns true whenever runs exist
+ * because the element might be contained in one of them. Callers must not rely on these return values once
+ * elements have been spilled.</p>
+ */
+@Slf4j
+final class SpillingKeySet extends AbstractCollection<byte[]> {
+    /**
+     * Estimated memory used per element in addition to its content, i.e., array header and hash table slots
+     */
+    private static final long ENTRY_OVERHEAD = 64L;
+    private static final Comparator<byte[]> KEY_ORDER = Arrays::compareUnsigned;
+    private final @NonNull Path directory;
+    private final long maxBytesInMemory;
+    private final List<Path> runs = new ArrayList<>();
+    private ByteArraySet live = new ByteArraySet();
+    private ByteArraySet removed = new ByteArraySet();
+    private long bytesInMemory;
+    private long mergedSize = -1L;
+
+    /**
+     * Create a new set
+     *
+     * @param directory directory to write runs to
+     * @param maxBytesInMemory estimated number of bytes after which elements are written to a run
+     */
+    SpillingKeySet(final @NonNull Path directory, final long maxBytesInMemory) {
+        this.directory = directory;
+        this.maxBytesInMemory = maxBytesInMemory;
+    }
+
+    /**
+     * Delete a directory containing runs
+     *
+     * @param directory directory to delete
+     */
+    static void deleteDirectory(final Path directory) {
+        try (final Stream<Path> files = Files.list(directory)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        } catch (final IOException e) {
+            log.warn("Failed to delete spill directory {}", directory, e);
+        }
+    }
+
+    private static long cost(final byte[] bytes) {
+        return bytes.length + ENTRY_OVERHEAD;
+    }
+
+    private static void deleteRun(final Path run) {
+        try {
+            Files.deleteIfExists(run);
+        } catch (final IOException e) {
+            log.warn("Failed to delete run {}", run, e);
+        }
+    }
+
+    private static void advance(final PriorityQueue<RunReader> readers, final RunReader reader) {
+        if (reader.advance()) {
+            readers.add(reader);
+        } else {
+            reader.close();
+        }
+    }
+
+    @Override
+    public boolean add(final byte[] bytes) {
+        if (this.removed.remove(bytes)) {
+            this.bytesInMemory -= cost(bytes);
+        }
+        if (!this.live.add(bytes)) {
+            return false;
+        }
+        this.bytesInMemory += cost(bytes);
+        this.mergedSize = -1L;
+        this.spillIfNecessary();
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return this.live.contains(o);
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (!(o instanceof byte[])) {
+            return false;
+        }
+        final byte[] bytes = (byte[]) o;
+        final boolean removedFromMemory = this.live.remove(bytes);
+        if (removedFromMemory) {
+            this.bytesInMemory -= cost(bytes);
+        }
+        if (this.runs.isEmpty()) {
+            return removedFromMemory;
+        }
+        // the element might be contained in a run, so its removal needs to be recorded
+        if (this.removed.add(bytes)) {
+            this.bytesInMemory += cost(bytes);
+            this.mergedSize = -1L;
+            this.spillIfNecessary();
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        if (this.runs.isEmpty()) {
+            return this.live.size();
+        }
+        this.merge();
+        return Math.toIntExact(this.mergedSize);
+    }
+
+    @Override
+    public Iterator<byte[]> iterator() {
+        if (this.runs.isEmpty()) {
+            return this.live.iterator();
+        }
+        this.merge();
+        return new RunIterator(this.runs.get(0));
+    }
+
+    @Override
+    public void forEach(final Consumer<? super byte[]> action) {
+        if (this.runs.isEmpty()) {
+            this.live.forEach(action);
+            return;
+        }
+        this.merge();
+        try (final RunIterator iterator = new RunIterator(this.runs.get(0))) {
+            iterator.forEachRemaining(action);
+        }
+    }
+
+    private void spillIfNecessary() {
+        if (this.bytesInMemory > this.maxBytesInMemory) {
+            this.spill();
+        }
+    }
+
+    private void spill() {
+        final List<byte[]> liveKeys = new ArrayList<>(this.live);
+        liveKeys.sort(KEY_ORDER);
+        final List<byte[]> removedKeys = new ArrayList<>(this.removed);
+        removedKeys.sort(KEY_ORDER);
+        final Path run = this.createRun();
+        try (final RunWriter writer = new RunWriter(run)) {
+            int i = 0;
+            int j = 0;
+            while (i < liveKeys.size() || j < removedKeys.size()) {
+                if (j == removedKeys.size()
+                        || i < liveKeys.size() && KEY_ORDER.compare(liveKeys.get(i), removedKeys.get(j)) < 0) {
+                    writer.write(liveKeys.get(i++), true);
+                } else {
+                    writer.write(removedKeys.get(j++), false);
+                }
+            }
+        }
+        log.debug("Spilled {} keys and {} removals to {}", liveKeys.size(), removedKeys.size(), run);
+        this.runs.add(run);
+        this.live = new ByteArraySet();
+        this.removed = new ByteArraySet();
+        this.bytesInMemory = 0L;
+    }
+
+    /**
+     * Merge all runs and the elements in memory into a single run that only contains the remaining elements
+     */
+    private void merge() {
+        if (this.mergedSize >= 0L) {
+            return;
+        }
+        if (!this.live.isEmpty() || !this.removed.isEmpty()) {
+            this.spill();
+        }
+        final Path merged = this.createRun();
+        final PriorityQueue<RunReader> readers = new PriorityQueue<>(Comparator
+                .comparing((RunReader reader) -> reader.key, KEY_ORDER)
+                // later runs win
+                .thenComparing(reader -> reader.index, Comparator.reverseOrder()));
+        long size = 0L;
+        try (final RunWriter writer = new RunWriter(merged)) {
+            for (int i = 0; i < this.runs.size(); i++) {
+                advance(readers, new RunReader(this.runs.get(i), i));
+            }
+            while (!readers.isEmpty()) {
+                final RunReader latest = readers.poll();
+                final byte[] key = latest.key;
+                if (latest.live) {
+                    writer.write(key, true);
+                    size++;
+                }
+                advance(readers, latest);
+                while (!readers.isEmpty() && Arrays.equals(readers.peek().key, key)) {
+                    advance(readers, readers.poll());
+                }
+            }
+        } finally {
+            readers.forEach(RunReader::close);
+        }
+        for (final Path run : this.runs) {
+            deleteRun(run);
+        }
+        this.runs.clear();
+        this.runs.add(merged);
+        this.mergedSize = size;
+    }
+
+    private Path createRun() {
+        try {
+            return Files.createTempFile(this.directory, "run", ".bin");
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to create run in " + this.directory, e);
+        }
+    }
+
+    private static final class RunWriter implements AutoCloseable {
+        private final Path run;
+        private final DataOutputStream output;
+
+        private RunWriter(final Path run) {
+            this.run = run;
+            try {
+                final OutputStream outputStream = Files.newOutputStream(run);
+                this.output = new DataOutputStream(new BufferedOutputStream(outputStream));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to write run " + run, e);
+            }
+        }
+
+        private void write(final byte[] key, final boolean live) {
+            try {
+                this.output.writeBoolean(live);
+                this.output.writeInt(key.length);
+                this.output.write(key);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to write run " + this.run, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.output.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to write run " + this.run, e);
+            }
+        }
+    }
+
+    private static final class RunReader implements AutoCloseable {
+        private final Path run;
+        private final int index;
+        private final DataInputStream input;
+        private byte[] key;
+        private boolean live;
+
+        private RunReader(final Path run, final int index) {
+            this.run = run;
+            this.index = index;
+            try {
+                this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read run " + run, e);
+            }
+        }
+
+        /**
+         * Read the next entry of the run
+         *
+         * @return whether an entry has been read
+         */
+        private boolean advance() {
+            try {
+                this.live = this.input.readBoolean();
+            } catch (final EOFException e) {
+                return false;
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read run " + this.run, e);
+            }
+            try {
+                this.key = new byte[this.input.readInt()];
+                this.input.readFully(this.key);
+                return true;
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read run " + this.run, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.input.close();
+            } catch (final IOException e) {
+                log.debug("Failed to close run {}", this.run, e);
+            }
+        }
+    }
+
+    private static final class RunIterator implements Iterator<byte[]>, Closeable {
+        private final RunReader reader;
+        private boolean hasNext;
+
+        private RunIterator(final Path run) {
+            this.reader = new RunReader(run, 0);
+            try {
+                this.hasNext = this.advance();
+            } catch (final RuntimeException e) {
+                this.reader.close();
+                throw e;
+            }
+        }
+
+        private boolean advance() {
+            if (this.reader.advance()) {
+                return true;
+            }
+            this.reader.close();
+            return false;
+        }
+
+        /**
+         * Close the run. Closing is idempotent, so that iterators that have been read to the end can be closed again.
+         */
+        @Override
+        public void close() {
+            this.hasNext = false;
+            this.reader.close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!this.hasNext) {
+                throw new NoSuchElementException();
+            }
+            final byte[] key = this.reader.key;
+            this.hasNext = this.advance();
+            return key;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class ByteArraySetTest {
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static byte[] bytes(final String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldCompareByContent() {
+        final ByteArraySet set = new ByteArraySet();
+        this.softly.assertThat(set.add(bytes("foo"))).isTrue();
+        this.softly.assertThat(set.add(bytes("foo"))).isFalse();
+        this.softly.assertThat(set.add(bytes("bar"))).isTrue();
+        this.softly.assertThat(set.contains(bytes("foo"))).isTrue();
+        this.softly.assertThat(set.contains(bytes("baz"))).isFalse();
+        this.softly.assertThat(set.contains("foo")).isFalse();
+        this.softly.assertThat(set)
+                .hasSize(2)
+                .containsExactlyInAnyOrder(bytes("foo"), bytes("bar"));
+    }
+
+    @Test
+    void shouldGrow() {
+        final ByteArraySet set = new ByteArraySet();
+        IntStream.range(0, 10_000).forEach(i -> set.add(bytes("key-" + i)));
+        IntStream.range(0, 10_000).forEach(i -> set.add(bytes("key-" + i)));
+        this.softly.assertThat(set).hasSize(10_000);
+        this.softly.assertThat(set.iterator()).toIterable().hasSize(10_000);
+        this.softly.assertThat(IntStream.range(0, 10_000).allMatch(i -> set.contains(bytes("key-" + i)))).isTrue();
+        this.softly.assertThat(set.contains(bytes("key-10000"))).isFalse();
+    }
+
+    @Test
+    void shouldAddAll() {
+        final ByteArraySet set = new ByteArraySet();
+        set.add(bytes("foo"));
+        final ByteArraySet other = new ByteArraySet();
+        other.add(bytes("foo"));
+        other.add(bytes("bar"));
+        set.addAll(other);
+        this.softly.assertThat(set)
+                .hasSize(2)
+                .containsExactlyInAnyOrder(bytes("foo"), bytes("bar"));
+    }
+
+    @Test
+    void shouldRemove() {
+        final ByteArraySet set = new ByteArraySet();
+        IntStream.range(0, 1_000).forEach(i -> set.add(bytes("key-" + i)));
+        this.softly.assertThat(set.remove(bytes("key-1000"))).isFalse();
+        this.softly.assertThat(IntStream.range(0, 1_000).filter(i -> i % 3 == 0)
+                .allMatch(i -> set.remove(bytes("key-" + i)))).isTrue();
+        this.softly.assertThat(set).hasSize(666);
+        this.softly.assertThat(IntStream.range(0, 1_000)
+                .allMatch(i -> set.contains(bytes("key-" + i)) == (i % 3 != 0))).isTrue();
+    }
+
+}
@@ -27,8 +27,7 @@ package com.bakdata.kafka;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -38,39 +37,41 @@ class ConnectorNameExtractorTest {
 
     static Stream<Arguments> generateConnectorNames() {
         return Stream.of(
-                Arguments.of(List.of("foo"), "foo"),
-                Arguments.of(List.of("bar", "baz"), "bar"),
-                Arguments.of(List.of("foo", 1), "foo")
+                Arguments.of("[\"foo\"]", "foo"),
+                Arguments.of("[\"bar\", \"baz\"]", "bar"),
+                Arguments.of("[\"foo\", 1]", "foo"),
+                Arguments.of("[\"foo\", {\"file\": \"bar\"}]", "foo"),
+                Arguments.of("[\"f\\u006fo\\/bar\", {}]", "foo/bar"),
+                Arguments.of("[\"f\u00f6\\\"o\\\\\", {}]", "f\u00f6\"o\\")
         );
     }
 
     static Stream<Arguments> generateInvalidConnectorNames() {
         return Stream.of(
-                Arguments.of(List.of(), "Expected at least one element"),
-                Arguments.of(List.of(1), "Expected first element to be string but got java.lang.Integer"),
-                Arguments.of(newListWithNullElement(), "Expected first element to be string but got null"),
-                Arguments.of("foo", "Expected record to be a list but got java.lang.String"),
+                Arguments.of("[]", "Expected at least one element"),
+                Arguments.of("[1]", "Expected first element to be string but got number"),
+                Arguments.of("[null]", "Expected first element to be string but got null"),
+                Arguments.of("\"foo\"", "Expected record to be a list but got string"),
                 Arguments.of(null, "Expected record to be a list but got null")
         );
     }
 
-    private static List<Object> newListWithNullElement() {
-        final List<Object> objects = new ArrayList<>();
-        objects.add(null);
-        return objects;
+    private static OffsetKey parse(final String input) {
+        return OffsetKeyParser.parse(input == null ? null : input.getBytes(StandardCharsets.UTF_8));
     }
 
     @ParameterizedTest
     @MethodSource("generateConnectorNames")
-    void shouldExtractConnectorName(final List<Object> input, final String expectedName) {
-        assertThat(ConnectorNameExtractor.extractConnectorName(input)).isEqualTo(expectedName);
+    void shouldExtractConnectorName(final String input, final String expectedName) {
+        assertThat(ConnectorNameExtractor.extractConnectorName(parse(input))).isEqualTo(expectedName);
     }
 
     @ParameterizedTest
     @MethodSource("generateInvalidConnectorNames")
-    void shouldThrow(final Object input, final String expectedMessage) {
+    void shouldThrow(final String input, final String expectedMessage) {
+        final OffsetKey key = parse(input);
         assertThatIllegalArgumentException()
-                .isThrownBy(() -> ConnectorNameExtractor.extractConnectorName(input))
+                .isThrownBy(() -> ConnectorNameExtractor.extractConnectorName(key))
                 .withMessage(expectedMessage);
     }
 
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ConnectorNamePrefilterTest {
+
+    static Stream<Arguments> generateCandidates() {
+        return Stream.concat(generateMatches(), generateMalformedKeys());
+    }
+
+    static Stream<Arguments> generateMatches() {
+        return Stream.of(
+                Arguments.of("my-connector", "[\"my-connector\", {}]"),
+                Arguments.of("my-connector", " [ \"my-connector\",{\"file\":\"foo\"}]"),
+                Arguments.of("my-connector", "[\"\\u006dy-connector\", {}]"),
+                Arguments.of("my/connector", "[\"my\\/connector\", {}]"),
+                Arguments.of("my\"connector", "[\"my\\\"connector\", {}]"),
+                Arguments.of("c\u00f6nnector", "[\"c\u00f6nnector\", {}]"),
+                Arguments.of("c\u00f6nnector", "[\"c\\u00F6nnector\", {}]"),
+                Arguments.of("\u20ac-connector", "[\"\u20ac-connector\", {}]"),
+                Arguments.of("\uD83D\uDE00-connector", "[\"\uD83D\uDE00-connector\", {}]"),
+                Arguments.of("\uD83D\uDE00-connector", "[\"\\ud83d\\ude00-connector\", {}]")
+        );
+    }
+
+    static Stream<Arguments> generateMalformedKeys() {
+        // malformed keys need to be parsed to report errors
+        return Stream.of(
+                Arguments.of("my-connector", "{\"my-connector\": {}}"),
+                Arguments.of("my-connector", "[1, {}]"),
+                Arguments.of("my-connector", "[\"my-conn"),
+                Arguments.of("my-connector", "[\"my\\x-connector\", {}]")
+        );
+    }
+
+    static Stream<Arguments> generateMismatches() {
+        return Stream.of(
+                Arguments.of("my-connector", "[\"not-my-connector\", {}]"),
+                Arguments.of("my-connector", "[\"my-connector-2\", {}]"),
+                Arguments.of("my-connector", "[\"my-connecto\", {}]"),
+                Arguments.of("my-connector", "[\"\", {}]"),
+                Arguments.of("my-connector", "[\"\\u006dy-connectors\", {}]"),
+                Arguments.of("c\u00f6nnector", "[\"connector\", {}]"),
+                Arguments.of("\uD83D\uDE00-connector", "[\"\uD83D\uDE01-connector\", {}]")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateCandidates")
+    void shouldAcceptCandidates(final String connectorName, final String key) {
+        final ConnectorNamePrefilter prefilter = new ConnectorNamePrefilter(List.of(connectorName));
+        assertThat(prefilter.test(key.getBytes(StandardCharsets.UTF_8))).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateMismatches")
+    void shouldRejectOtherConnectors(final String connectorName, final String key) {
+        final ConnectorNamePrefilter prefilter = new ConnectorNamePrefilter(List.of(connectorName));
+        assertThat(prefilter.test(key.getBytes(StandardCharsets.UTF_8))).isFalse();
+    }
+
+    @Test
+    void shouldAcceptAnyOfSeveralConnectors() {
+        final ConnectorNamePrefilter prefilter =
+                new ConnectorNamePrefilter(List.of("connector-1", "connector-2", "c\u00f6nnector"));
+        assertThat(prefilter.test("[\"connector-1\", {}]".getBytes(StandardCharsets.UTF_8))).isTrue();
+        assertThat(prefilter.test("[\"connector-2\", {}]".getBytes(StandardCharsets.UTF_8))).isTrue();
+        assertThat(prefilter.test("[\"c\\u00f6nnector\", {}]".getBytes(StandardCharsets.UTF_8))).isTrue();
+        assertThat(prefilter.test("[\"connector-3\", {}]".getBytes(StandardCharsets.UTF_8))).isFalse();
+    }
+
+}
@@ -28,15 +28,20 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -79,7 +84,13 @@ class KafkaConnectSinkResetterApplicationTest {
         return commandLine;
     }
 
-    private static Map<String, String> config(final Path tempFile) {
+    private static KafkaConnectSinkResetter createResetter(final String... args) {
+        final KafkaConnectSinkResetter resetter = new KafkaConnectSinkResetter();
+        new CommandLine(resetter).parseArgs(args);
+        return resetter;
+    }
+
+    static Map<String, String> config(final Path tempFile) {
         final Map<String, String> properties = new HashMap<>();
         properties.put(ConnectorConfig.CONNECTOR_CLASS_CONFIG, FileStreamSinkConnector.class.getName());
         properties.put(ConnectorConfig.VALUE_CONVERTER_CLASS_CONFIG, StringConverter.class.getName());
@@ -89,6 +100,12 @@ class KafkaConnectSinkResetterApplicationTest {
         return properties;
     }
 
+    @SuppressWarnings("unchecked") // Producer always uses byte[] although serializer is customizable
+    static Producer<String, String> createProducer(final EmbeddedConnectCluster connectCluster) {
+        return (Producer<String, String>) (Producer<?, ?>) connectCluster.kafka()
+                .createProducer(PRODUCER_PROPERTIES);
+    }
+
     @AfterEach
     void tearDown() {
         this.connectCluster.stop();
@@ -195,19 +212,221 @@ class KafkaConnectSinkResetterApplicationTest {
         this.softly.assertThat(tempFile).hasContent("test-1\ntest-2\ntest-1\ntest-2\n");
     }
 
+    @Test
+    void shouldResetOffsetsToLatest(@TempDir final File tempDir)
+            throws InterruptedException, IOException, ExecutionException {
+        final Path tempFile = Files.createFile(tempDir.toPath().resolve("test-reset-offsets-latest.txt"));
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config(tempFile));
+        Thread.sleep(Duration.ofSeconds(10L));
+
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-1"));
+        }
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-2"));
+        }
+
+        final KafkaConnectResetterApplication app = new KafkaConnectResetterApplication();
+
+        final CommandLine commandLine = getCLI(app);
+        this.softly.assertThat(tempFile).hasContent("test-1\n");
+        final int exitCode =
+                commandLine.execute("sink",
+                        CONNECTOR_NAME,
+                        "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                        "--reset-to", "latest"
+                );
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config(tempFile));
+        Thread.sleep(Duration.ofSeconds(10L));
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-3"));
+        }
+
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.softly.assertThat(tempFile).hasContent("test-1\ntest-3\n");
+    }
+
+    @Test
+    void shouldOnlyResetSelectedTopics(@TempDir final File tempDir)
+            throws InterruptedException, IOException, ExecutionException {
+        final String otherTopic = "other-topic";
+        this.connectCluster.kafka().createTopic(otherTopic);
+        final Path tempFile = Files.createFile(tempDir.toPath().resolve("test-selected-topics.txt"));
+        final Map<String, String> config = config(tempFile);
+        config.put(SinkConnector.TOPICS_CONFIG, TOPIC + "," + otherTopic);
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config);
+        Thread.sleep(Duration.ofSeconds(10L));
+
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-1"));
+            producer.send(new ProducerRecord<>(otherTopic, null, "other-1"));
+        }
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+
+        final KafkaConnectResetterApplication app = new KafkaConnectResetterApplication();
+
+        final CommandLine commandLine = getCLI(app);
+        final int exitCode =
+                commandLine.execute("sink",
+                        CONNECTOR_NAME,
+                        "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                        "--exclude-topics", otherTopic
+                );
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config);
+
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.softly.assertThat(Files.readAllLines(tempFile)).containsExactlyInAnyOrder("test-1", "other-1", "test-1");
+    }
+
+    @Test
+    void shouldNotDeleteConsumerGroupWithSelectedTopics() {
+        final KafkaConnectResetterApplication app = new KafkaConnectResetterApplication();
+
+        final CommandLine commandLine = getCLI(app);
+        final int exitCode =
+                commandLine.execute("sink",
+                        CONNECTOR_NAME,
+                        "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                        "--include-topics", TOPIC,
+                        "--delete-consumer-group"
+                );
+        this.softly.assertThat(exitCode).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotAlterOffsetsInDryRun(@TempDir final File tempDir)
+            throws InterruptedException, IOException, ExecutionException {
+        final Path tempFile = Files.createFile(tempDir.toPath().resolve("test-dry-run.txt"));
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config(tempFile));
+        Thread.sleep(Duration.ofSeconds(10L));
+
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-1"));
+        }
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+
+        final KafkaConnectResetterApplication app = new KafkaConnectResetterApplication();
+
+        final CommandLine commandLine = getCLI(app);
+        final int exitCode =
+                commandLine.execute("sink",
+                        CONNECTOR_NAME,
+                        "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                        "--dry-run"
+                );
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.softly.assertThat(this.adminClient.listConsumerGroups().all().get()).hasSize(1);
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config(tempFile));
+
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.softly.assertThat(tempFile).hasContent("test-1\n");
+    }
+
+    @Test
+    void shouldDeleteConsumerGroupsOfConnectorsMatchingPattern(@TempDir final File tempDir)
+            throws InterruptedException, IOException, ExecutionException {
+        final Path tempFile1 = Files.createFile(tempDir.toPath().resolve("test-pattern-1.txt"));
+        final Path tempFile2 = Files.createFile(tempDir.toPath().resolve("test-pattern-2.txt"));
+        this.connectCluster.configureConnector(CONNECTOR_NAME + "-1", config(tempFile1));
+        this.connectCluster.configureConnector(CONNECTOR_NAME + "-2", config(tempFile2));
+        Thread.sleep(Duration.ofSeconds(10L));
+
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-1"));
+        }
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME + "-1");
+        this.connectCluster.deleteConnector(CONNECTOR_NAME + "-2");
+        this.softly.assertThat(this.adminClient.listConsumerGroups().all().get()).hasSize(2);
+
+        final KafkaConnectResetterApplication app = new KafkaConnectResetterApplication();
+
+        final CommandLine commandLine = getCLI(app);
+        final int exitCode = commandLine.execute("sink",
+                "--connector-pattern", CONNECTOR_NAME + "-\\d",
+                "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                "--delete-consumer-group"
+        );
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.softly.assertThat(this.adminClient.listConsumerGroups().all().get()).isEmpty();
+    }
+
+    @Test
+    void shouldRunResetsWithSharedAdminClient(@TempDir final File tempDir)
+            throws InterruptedException, IOException, ExecutionException {
+        final Path tempFile = Files.createFile(tempDir.toPath().resolve("test-shared-admin-client.txt"));
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config(tempFile));
+        Thread.sleep(Duration.ofSeconds(10L));
+
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-1"));
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-2"));
+        }
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+        this.softly.assertThat(this.getCommittedOffsets()).containsExactly(2L);
+
+        final String brokers = this.connectCluster.kafka().bootstrapServers();
+        createResetter(CONNECTOR_NAME, "--brokers", brokers).reset(this.adminClient);
+        this.softly.assertThat(this.getCommittedOffsets()).containsExactly(0L);
+        createResetter(CONNECTOR_NAME, "--brokers", brokers, "--reset-to", "latest").reset(this.adminClient);
+        this.softly.assertThat(this.getCommittedOffsets()).containsExactly(2L);
+    }
+
+    @Test
+    void shouldResetOffsetsOverHttp(@TempDir final File tempDir)
+            throws InterruptedException, IOException, ExecutionException {
+        final Path tempFile = Files.createFile(tempDir.toPath().resolve("test-reset-over-http.txt"));
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config(tempFile));
+        Thread.sleep(Duration.ofSeconds(10L));
+
+        try (final Producer<String, String> producer = this.createProducer()) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-1"));
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-2"));
+        }
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+        this.softly.assertThat(this.getCommittedOffsets()).containsExactly(2L);
+
+        final String brokers = this.connectCluster.kafka().bootstrapServers();
+        try (final ResetterClients clients =
+                new ResetterClients(Map.of(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, brokers));
+                final ResetServer server = ResetServer.start(new InetSocketAddress("localhost", 0), clients,
+                        brokers)) {
+            final HttpResponse<String> response =
+                    ResetServerTest.post(server, "/sink", "[\"" + CONNECTOR_NAME + "\"]");
+            this.softly.assertThat(response.statusCode()).isEqualTo(200);
+        }
+        this.softly.assertThat(this.getCommittedOffsets()).containsExactly(0L);
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config(tempFile));
+
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.softly.assertThat(tempFile).hasContent("test-1\ntest-2\ntest-1\ntest-2\n");
+    }
+
+    private Collection<Long> getCommittedOffsets() throws InterruptedException, ExecutionException {
+        return this.adminClient.listConsumerGroupOffsets("connect-" + CONNECTOR_NAME)
+                .partitionsToOffsetAndMetadata()
+                .get()
+                .values()
+                .stream()
+                .map(OffsetAndMetadata::offset)
+                .collect(Collectors.toList());
+    }
+
     private Admin createAdminClient() {
         final Map<String, Object> properties = new HashMap<>();
         properties.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, this.connectCluster.kafka().bootstrapServers());
         return AdminClient.create(properties);
     }
 
-    @SuppressWarnings("unchecked") // Producer always uses byte[] although serializer is customizable
-    private <K, V> Producer<K, V> createProducer(final Map<String, Object> properties) {
-        return (Producer<K, V>) this.connectCluster.kafka()
-                .createProducer(properties);
-    }
-
     private Producer<String, String> createProducer() {
-        return this.createProducer(PRODUCER_PROPERTIES);
+        return createProducer(this.connectCluster);
     }
 }
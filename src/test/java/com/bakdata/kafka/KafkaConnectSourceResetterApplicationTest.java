@@ -26,16 +26,29 @@ package com.bakdata.kafka;
 
 import static com.bakdata.kafka.KafkaConnectSinkResetterApplicationTest.getCLI;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -51,6 +64,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import picocli.CommandLine;
 
 @ExtendWith(SoftAssertionsExtension.class)
@@ -84,18 +98,30 @@ class KafkaConnectSourceResetterApplicationTest {
         return pollAll(consumer, timeout);
     }
 
-    private static Map<String, String> config() {
+    static Map<String, String> config() {
+        return config(textFile());
+    }
+
+    private static Map<String, String> config(final Path file) {
         final Map<String, String> properties = new HashMap<>();
         properties.put(ConnectorConfig.CONNECTOR_CLASS_CONFIG, FileStreamSourceConnector.class.getName());
         properties.put(ConnectorConfig.VALUE_CONVERTER_CLASS_CONFIG, StringConverter.class.getName());
         properties.put(ConnectorConfig.KEY_CONVERTER_CLASS_CONFIG, StringConverter.class.getName());
-        properties.put(FileStreamSourceConnector.FILE_CONFIG,
-                new File(KafkaConnectSourceResetterApplicationTest.class.getResource("text.txt").getFile())
-                        .getAbsolutePath());
+        properties.put(FileStreamSourceConnector.FILE_CONFIG, file.toString());
         properties.put(FileStreamSourceConnector.TOPIC_CONFIG, TOPIC);
         return properties;
     }
 
+    private static Path textFile() {
+        return new File(KafkaConnectSourceResetterApplicationTest.class.getResource("text.txt").getFile())
+                .getAbsoluteFile()
+                .toPath();
+    }
+
+    private static long readRecordsScanned(final Path metricsFile) throws IOException {
+        return new ObjectMapper().readTree(metricsFile.toFile()).get("recordsScanned").asLong();
+    }
+
     private static <K, V> List<ConsumerRecord<K, V>> pollAll(final Consumer<K, V> consumer, final Duration timeout) {
         final List<ConsumerRecord<K, V>> records = new ArrayList<>();
         ConsumerRecords<K, V> poll;
@@ -147,6 +173,40 @@ class KafkaConnectSourceResetterApplicationTest {
         }
     }
 
+    @Test
+    void shouldResetOffsetsFromManifest(@TempDir final Path tempDir) throws InterruptedException {
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config());
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+        Thread.sleep(Duration.ofSeconds(10L));
+        final Path manifestFile = tempDir.resolve("manifest.bin");
+        final KafkaConnectResetterApplication app = new KafkaConnectResetterApplication();
+
+        final int dryRunExitCode = getCLI(app).execute("source",
+                CONNECTOR_NAME,
+                "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                "--offset-topic", OFFSETS,
+                "--dry-run",
+                "--manifest-file", manifestFile.toString()
+        );
+        this.softly.assertThat(dryRunExitCode).isEqualTo(0);
+        this.softly.assertThat(manifestFile).exists();
+        final int exitCode = getCLI(app).execute("source",
+                "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                "--offset-topic", OFFSETS,
+                "--apply-manifest", manifestFile.toString()
+        );
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config());
+        Thread.sleep(Duration.ofSeconds(10L));
+        try (final Consumer<String, String> consumer = this.createConsumer()) {
+            final List<ConsumerRecord<String, String>> valuesAfterReset =
+                    readAll(consumer, TOPIC, Duration.ofSeconds(1L));
+            this.softly.assertThat(valuesAfterReset)
+                    .hasSize(6);
+        }
+    }
+
     @Test
     void shouldExitOneWhenOffsetTopicIsSetIncorrectly() throws InterruptedException {
         this.connectCluster.configureConnector(CONNECTOR_NAME, config());
@@ -178,6 +238,179 @@ class KafkaConnectSourceResetterApplicationTest {
         }
     }
 
+    @Test
+    void shouldResetOffsetsWithParallelScan() throws InterruptedException {
+        this.runConnector(config());
+
+        final int exitCode = this.resetConnector("--scan-threads", "4");
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).containsExactly("foo", "bar", "baz", "foo", "bar", "baz");
+    }
+
+    @Test
+    void shouldResetOffsetsWhileStreaming() throws InterruptedException {
+        this.runConnector(config());
+
+        final int exitCode = this.resetConnector("--streaming");
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).containsExactly("foo", "bar", "baz", "foo", "bar", "baz");
+    }
+
+    @Test
+    void shouldResetPartitionsOfAbortedReset() throws InterruptedException {
+        this.runConnector(config());
+        try (final Producer<byte[], byte[]> producer = this.connectCluster.kafka()
+                .createProducer(Map.of(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "aborted-reset"))) {
+            producer.initTransactions();
+            producer.beginTransaction();
+            this.readOffsetKeys().forEach(key -> producer.send(new ProducerRecord<>(OFFSETS, key, null)));
+            producer.flush();
+            producer.abortTransaction();
+        }
+
+        final int exitCode = this.resetConnector();
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).containsExactly("foo", "bar", "baz", "foo", "bar", "baz");
+    }
+
+    @Test
+    void shouldResetOffsetsOverHttp() throws InterruptedException, IOException {
+        this.runConnector(config());
+
+        final String brokers = this.connectCluster.kafka().bootstrapServers();
+        final Map<String, Object> kafkaConfig = Map.of(
+                CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, brokers,
+                ProducerConfig.TRANSACTIONAL_ID_CONFIG, "kafka-connect-resetter-server"
+        );
+        try (final ResetterClients clients = new ResetterClients(kafkaConfig);
+                final ResetServer server = ResetServer.start(new InetSocketAddress("localhost", 0), clients,
+                        brokers)) {
+            final HttpResponse<String> response = ResetServerTest.post(server, "/source",
+                    "[\"" + CONNECTOR_NAME + "\", \"--offset-topic\", \"" + OFFSETS + "\"]");
+            this.softly.assertThat(response.statusCode()).isEqualTo(200);
+        }
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).containsExactly("foo", "bar", "baz", "foo", "bar", "baz");
+    }
+
+    @Test
+    void shouldResetOffsetsIncrementallyWithIndex(@TempDir final Path tempDir)
+            throws InterruptedException, IOException {
+        final Path indexFile = tempDir.resolve("index.bin");
+        final Path firstMetricsFile = tempDir.resolve("metrics-1.json");
+        final Path secondMetricsFile = tempDir.resolve("metrics-2.json");
+        this.runConnector(config());
+
+        final int exitCode = this.resetConnector("--index-file", indexFile.toString(),
+                "--metrics-file", firstMetricsFile.toString());
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.softly.assertThat(indexFile).exists();
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).containsExactly("foo", "bar", "baz", "foo", "bar", "baz");
+
+        final int offsetRecords = this.readOffsetRecords().size();
+        final int secondExitCode = this.resetConnector("--index-file", indexFile.toString(),
+                "--metrics-file", secondMetricsFile.toString());
+        this.softly.assertThat(secondExitCode).isEqualTo(0);
+        // the second run only reads the records written to the offset topic since the first run
+        this.softly.assertThat(readRecordsScanned(secondMetricsFile))
+                .isPositive()
+                .isEqualTo(offsetRecords - readRecordsScanned(firstMetricsFile));
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues())
+                .containsExactly("foo", "bar", "baz", "foo", "bar", "baz", "foo", "bar", "baz");
+    }
+
+    @Test
+    void shouldResetOnlyFilteredPartitions(@TempDir final Path tempDir) throws InterruptedException, IOException {
+        final Path copy = Files.copy(textFile(), tempDir.resolve("copy.txt"));
+        this.runConnector(config());
+        this.runConnector(config(copy));
+
+        final int exitCode = this.resetConnector("--partition-filter", "filename=" + copy);
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        // the partition of the original file is not reset, so Connect does not re-read it
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).hasSize(6);
+        this.runConnector(config(copy));
+        this.softly.assertThat(this.readValues())
+                .containsExactly("foo", "bar", "baz", "foo", "bar", "baz", "foo", "bar", "baz");
+    }
+
+    @Test
+    void shouldResetOffsetsWithSpilling(@TempDir final Path tempDir) throws InterruptedException, IOException {
+        this.runConnector(config());
+
+        final int exitCode = this.resetConnector("--spill-threshold", "1", "--spill-directory", tempDir.toString());
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        try (final Stream<Path> files = Files.list(tempDir)) {
+            this.softly.assertThat(files).isEmpty();
+        }
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).containsExactly("foo", "bar", "baz", "foo", "bar", "baz");
+    }
+
+    @Test
+    void shouldRestoreOffsetsFromBackup(@TempDir final Path tempDir) throws InterruptedException {
+        final Path backupFile = tempDir.resolve("backup.bin");
+        this.runConnector(config());
+
+        final int exitCode = this.resetConnector("--backup-file", backupFile.toString());
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.softly.assertThat(backupFile).exists();
+        final int restoreExitCode = getCLI(new KafkaConnectResetterApplication()).execute("restore",
+                CONNECTOR_NAME,
+                "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                "--offset-topic", OFFSETS,
+                "--backup-file", backupFile.toString()
+        );
+        this.softly.assertThat(restoreExitCode).isEqualTo(0);
+        // Connect continues from the restored offsets instead of re-reading the file
+        this.runConnector(config());
+        this.softly.assertThat(this.readValues()).containsExactly("foo", "bar", "baz");
+    }
+
+    private void runConnector(final Map<String, String> config) throws InterruptedException {
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config);
+        Thread.sleep(Duration.ofSeconds(10L));
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+        Thread.sleep(Duration.ofSeconds(10L));
+    }
+
+    private int resetConnector(final String... options) {
+        final List<String> args = new ArrayList<>(List.of("source",
+                CONNECTOR_NAME,
+                "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                "--offset-topic", OFFSETS
+        ));
+        args.addAll(List.of(options));
+        return getCLI(new KafkaConnectResetterApplication()).execute(args.toArray(String[]::new));
+    }
+
+    private List<String> readValues() {
+        try (final Consumer<String, String> consumer = this.createConsumer()) {
+            return readAll(consumer, TOPIC, Duration.ofSeconds(1L)).stream()
+                    .map(ConsumerRecord::value)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<ConsumerRecord<byte[], byte[]>> readOffsetRecords() {
+        try (final Consumer<byte[], byte[]> consumer = this.connectCluster.kafka().createConsumer(Map.of())) {
+            return readAll(consumer, OFFSETS, Duration.ofSeconds(1L));
+        }
+    }
+
+    private List<byte[]> readOffsetKeys() {
+        return this.readOffsetRecords().stream()
+                .map(ConsumerRecord::key)
+                .filter(key -> new String(key, StandardCharsets.UTF_8).startsWith("[\"" + CONNECTOR_NAME + "\""))
+                .collect(Collectors.toList());
+    }
+
     @SuppressWarnings("unchecked") // Consumer always uses byte[] although serializer is customizable
     private <K, V> Consumer<K, V> createConsumer(final Map<String, Object> properties) {
         return (Consumer<K, V>) this.connectCluster.kafka()
@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static com.bakdata.kafka.KafkaConnectSinkResetterApplicationTest.createProducer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.connect.runtime.distributed.DistributedConfig;
+import org.apache.kafka.connect.util.clusters.EmbeddedConnectCluster;
+import org.apache.kafka.test.TestUtils;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs the source and sink resetters using the native image. The path of the native executable is passed with the
+ * system property {@code native.image.path}, which is set by the {@code nativeImageTest} Gradle task.
+ */
+@ExtendWith(SoftAssertionsExtension.class)
+@EnabledIfSystemProperty(named = NativeImageTest.NATIVE_IMAGE_PATH, matches = ".+")
+class NativeImageTest {
+    static final String NATIVE_IMAGE_PATH = "native.image.path";
+    private static final String TOPIC = "topic";
+    private static final String CONNECTOR_NAME = "test";
+    private static final String OFFSETS = "offsets";
+    private static final Duration TIMEOUT = Duration.ofMinutes(1L);
+    private final EmbeddedConnectCluster connectCluster = new EmbeddedConnectCluster.Builder()
+            .name("test-cluster")
+            .workerProps(new HashMap<>(Map.of(
+                    DistributedConfig.OFFSET_STORAGE_TOPIC_CONFIG, OFFSETS
+            )))
+            .build();
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static int execute(final Path output, final String... args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty(NATIVE_IMAGE_PATH));
+        command.addAll(List.of(args));
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        if (!process.waitFor(2L, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Native image did not terminate: " + command);
+        }
+        return process.exitValue();
+    }
+
+    private static void awaitContent(final Path file, final String content) throws InterruptedException {
+        TestUtils.waitForCondition(() -> content.equals(Files.readString(file)), TIMEOUT.toMillis(),
+                () -> "File " + file + " does not have content " + content);
+    }
+
+    @BeforeEach
+    void setup() {
+        this.connectCluster.start();
+        this.connectCluster.kafka().createTopic(TOPIC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.connectCluster.stop();
+    }
+
+    @Test
+    void shouldResetSourceConnector(@TempDir final Path tempDir) throws IOException, InterruptedException {
+        this.startConnector(KafkaConnectSourceResetterApplicationTest.config());
+        this.connectCluster.kafka().consume(3, TIMEOUT.toMillis(), TOPIC);
+        this.deleteConnector();
+        // offsets are committed when the task is stopped
+        this.connectCluster.kafka().consume(1, TIMEOUT.toMillis(), OFFSETS);
+
+        final Path metricsFile = tempDir.resolve("metrics.json");
+        final Path openMetricsFile = tempDir.resolve("metrics.txt");
+        final Path output = tempDir.resolve("output.log");
+        final int exitCode = execute(output, "source",
+                CONNECTOR_NAME,
+                "--brokers", this.connectCluster.kafka().bootstrapServers(),
+                "--offset-topic", OFFSETS,
+                "--metrics-file", metricsFile.toString(),
+                "--openmetrics-file", openMetricsFile.toString()
+        );
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.softly.assertThat(metricsFile).content().contains("\"tombstonesSent\"");
+        this.softly.assertThat(openMetricsFile).content().contains("# EOF");
+        this.softly.assertThat(output).content()
+                .contains("Summary:")
+                .doesNotContain("Failed to register metrics MBean");
+        this.startConnector(KafkaConnectSourceResetterApplicationTest.config());
+        this.softly.assertThat(this.connectCluster.kafka().consume(6, TIMEOUT.toMillis(), TOPIC).count())
+                .isEqualTo(6);
+    }
+
+    @Test
+    void shouldResetSinkConnector(@TempDir final Path tempDir) throws IOException, InterruptedException {
+        final Path tempFile = Files.createFile(tempDir.resolve("test-reset-offsets.txt"));
+        this.startConnector(KafkaConnectSinkResetterApplicationTest.config(tempFile));
+        try (final Producer<String, String> producer = createProducer(this.connectCluster)) {
+            producer.send(new ProducerRecord<>(TOPIC, null, "test-1"));
+        }
+        awaitContent(tempFile, "test-1\n");
+        this.deleteConnector();
+        this.awaitEmptyConsumerGroup("connect-" + CONNECTOR_NAME);
+
+        final int exitCode = execute(tempDir.resolve("output.log"), "sink",
+                CONNECTOR_NAME,
+                "--brokers", this.connectCluster.kafka().bootstrapServers()
+        );
+        this.softly.assertThat(exitCode).isEqualTo(0);
+        this.startConnector(KafkaConnectSinkResetterApplicationTest.config(tempFile));
+        awaitContent(tempFile, "test-1\ntest-1\n");
+    }
+
+    private void startConnector(final Map<String, String> config) throws InterruptedException {
+        this.connectCluster.configureConnector(CONNECTOR_NAME, config);
+        this.connectCluster.assertions().assertConnectorAndAtLeastNumTasksAreRunning(CONNECTOR_NAME, 1,
+                "Connector did not start");
+    }
+
+    private void deleteConnector() throws InterruptedException {
+        this.connectCluster.deleteConnector(CONNECTOR_NAME);
+        this.connectCluster.assertions().assertConnectorDoesNotExist(CONNECTOR_NAME, "Connector was not deleted");
+    }
+
+    private void awaitEmptyConsumerGroup(final String groupId) throws InterruptedException {
+        try (final Admin admin = this.connectCluster.kafka().createAdminClient()) {
+            TestUtils.waitForCondition(() -> admin.describeConsumerGroups(List.of(groupId))
+                            .describedGroups()
+                            .get(groupId)
+                            .get()
+                            .state() == ConsumerGroupState.EMPTY, TIMEOUT.toMillis(),
+                    () -> "Consumer group " + groupId + " did not become empty");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class OffsetKeyParserTest {
+
+    static Stream<Arguments> generateKeys() {
+        return Stream.of(
+                Arguments.of("[\"foo\", {}]", JsonType.ARRAY, JsonType.STRING, JsonType.OBJECT),
+                Arguments.of(" [ \"foo\" , {\"a\": [1, -2.5e3, true, false, null, \"\\u00e4\"]} ] ", JsonType.ARRAY,
+                        JsonType.STRING, JsonType.OBJECT),
+                Arguments.of("[{}, \"foo\"]", JsonType.ARRAY, JsonType.OBJECT, JsonType.STRING),
+                Arguments.of("[[], []]", JsonType.ARRAY, JsonType.ARRAY, JsonType.ARRAY),
+                Arguments.of("[true]", JsonType.ARRAY, JsonType.BOOLEAN, null),
+                Arguments.of("[]", JsonType.ARRAY, null, null),
+                Arguments.of("{\"foo\": 1}", JsonType.OBJECT, null, null),
+                Arguments.of("-0.5", JsonType.NUMBER, null, null),
+                Arguments.of("null", JsonType.NULL, null, null)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateKeys")
+    void shouldParseKey(final String input, final JsonType expectedType, final JsonType expectedFirstElementType,
+            final JsonType expectedPartitionType) {
+        final OffsetKey key = OffsetKeyParser.parse(input.getBytes(StandardCharsets.UTF_8));
+        assertThat(key.getType()).isEqualTo(expectedType);
+        assertThat(key.getFirstElementType()).isEqualTo(expectedFirstElementType);
+        assertThat(key.getPartitionType()).isEqualTo(expectedPartitionType);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "[",
+            "[\"foo\"",
+            "[\"foo\", {}",
+            "[\"foo\" {}]",
+            "[\"foo\", {}] x",
+            "[\"foo\", {\"a\" 1}]",
+            "[\"foo\", {a: 1}]",
+            "[\"foo\", {\"a\": 1,}]",
+            "[\"foo\", tru]",
+            "[\"foo\", 1.]",
+            "[\"foo\", -]",
+            "[\"f\\xoo\"]",
+            "[\"f\\u00zz\"]",
+            "[\"f\too\"]",
+            "[\"foo\",]"
+    })
+    void shouldThrowOnMalformedKey(final String input) {
+        final byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> OffsetKeyParser.parse(bytes))
+                .withMessageStartingWith("Malformed offset key");
+    }
+
+}
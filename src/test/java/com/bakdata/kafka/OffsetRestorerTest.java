@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class OffsetRestorerTest {
+    private static final String TOPIC = "offsets";
+    private static final byte[] VALUE = "{\"position\": 1}".getBytes();
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+    @TempDir
+    private Path tempDir;
+    private Path backupFile;
+
+    private static MockProducer<byte[], byte[]> createProducer() {
+        final MockProducer<byte[], byte[]> producer =
+                new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        producer.initTransactions();
+        return producer;
+    }
+
+    private static OffsetRestorer createRestorer(final MockProducer<byte[], byte[]> producer,
+            final long maxRecordsPerTransaction) {
+        return OffsetRestorer.builder()
+                .producer(producer)
+                .topic(TOPIC)
+                .maxRecordsPerTransaction(maxRecordsPerTransaction)
+                .build();
+    }
+
+    @BeforeEach
+    void setup() {
+        final OffsetSnapshot snapshot = new OffsetSnapshot();
+        snapshot.update("[\"connector-1\", 1]".getBytes(), VALUE);
+        snapshot.update("[\"connector-1\", 2]".getBytes(), VALUE);
+        snapshot.update("[\"connector-2\", 1]".getBytes(), VALUE);
+        this.backupFile = this.tempDir.resolve("backup");
+        snapshot.write(this.backupFile, TOPIC, false);
+    }
+
+    @Test
+    void shouldRestoreOffsets() {
+        final MockProducer<byte[], byte[]> producer = createProducer();
+        final long restored = createRestorer(producer, 0L).restore(this.backupFile, key -> true);
+        this.softly.assertThat(restored).isEqualTo(3L);
+        this.softly.assertThat(producer.transactionCommitted()).isTrue();
+        this.softly.assertThat(producer.commitCount()).isEqualTo(1L);
+        this.softly.assertThat(producer.history())
+                .hasSize(3)
+                .allSatisfy(producerRecord -> {
+                    this.softly.assertThat(producerRecord.topic()).isEqualTo(TOPIC);
+                    this.softly.assertThat(producerRecord.value()).isEqualTo(VALUE);
+                });
+    }
+
+    @Test
+    void shouldRestoreInChunks() {
+        final MockProducer<byte[], byte[]> producer = createProducer();
+        final long restored = createRestorer(producer, 2L).restore(this.backupFile, key -> true);
+        this.softly.assertThat(restored).isEqualTo(3L);
+        this.softly.assertThat(producer.commitCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldNotCommitEmptyTransactionAfterFullChunk() {
+        final MockProducer<byte[], byte[]> producer = createProducer();
+        final long restored = createRestorer(producer, 3L).restore(this.backupFile, key -> true);
+        this.softly.assertThat(restored).isEqualTo(3L);
+        this.softly.assertThat(producer.commitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldOnlyRestoreSelectedKeys() {
+        final MockProducer<byte[], byte[]> producer = createProducer();
+        final long restored = createRestorer(producer, 0L).restore(this.backupFile,
+                key -> "connector-1".equals(ConnectorNameExtractor.extractConnectorName(OffsetKeyParser.parse(key))));
+        this.softly.assertThat(restored).isEqualTo(2L);
+        this.softly.assertThat(producer.history())
+                .extracting(ProducerRecord::key)
+                .containsExactlyInAnyOrder("[\"connector-1\", 1]".getBytes(), "[\"connector-1\", 2]".getBytes());
+    }
+
+    @Test
+    void shouldAbortOnUnreadableBackup() {
+        final MockProducer<byte[], byte[]> producer = createProducer();
+        final OffsetRestorer restorer = createRestorer(producer, 0L);
+        final Path missing = this.tempDir.resolve("missing");
+        this.softly.assertThatThrownBy(() -> restorer.restore(missing, key -> true))
+                .isInstanceOf(UncheckedIOException.class);
+        this.softly.assertThat(producer.transactionAborted()).isTrue();
+    }
+}
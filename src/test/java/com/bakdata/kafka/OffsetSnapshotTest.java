@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class OffsetSnapshotTest {
+    private static final String TOPIC = "offsets";
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+    @TempDir
+    private Path tempDir;
+
+    private static OffsetSnapshot createSnapshot() {
+        final OffsetSnapshot snapshot = new OffsetSnapshot();
+        snapshot.update("[\"connector\", 1]".getBytes(), "{\"position\": 1}".getBytes());
+        snapshot.update("[\"connector\", 2]".getBytes(), "{\"position\": 1}".getBytes());
+        snapshot.update("[\"connector\", 1]".getBytes(), "{\"position\": 2}".getBytes());
+        snapshot.update("[\"connector\", 3]".getBytes(), "{\"position\": 1}".getBytes());
+        snapshot.update("[\"connector\", 3]".getBytes(), null);
+        return snapshot;
+    }
+
+    private static Map<String, String> read(final Path file) {
+        final Map<String, String> offsets = new LinkedHashMap<>();
+        OffsetSnapshot.read(file, TOPIC, (key, value) -> offsets.put(new String(key), new String(value)));
+        return offsets;
+    }
+
+    @Test
+    void shouldKeepLatestValues() {
+        final Path file = this.tempDir.resolve("backup");
+        final OffsetSnapshot snapshot = createSnapshot();
+        snapshot.write(file, TOPIC, false);
+        this.softly.assertThat(snapshot.size()).isEqualTo(2);
+        this.softly.assertThat(read(file)).containsOnly(
+                Map.entry("[\"connector\", 1]", "{\"position\": 2}"),
+                Map.entry("[\"connector\", 2]", "{\"position\": 1}"));
+    }
+
+    @Test
+    void shouldReadCompressedSnapshot() throws IOException {
+        final Path file = this.tempDir.resolve("backup.gz");
+        createSnapshot().write(file, TOPIC, true);
+        try (final InputStream inputStream = new GZIPInputStream(Files.newInputStream(file))) {
+            this.softly.assertThat(inputStream.readAllBytes()).isNotEmpty();
+        }
+        this.softly.assertThat(read(file)).containsOnlyKeys("[\"connector\", 1]", "[\"connector\", 2]");
+    }
+
+    @Test
+    void shouldRejectSnapshotOfOtherTopic() {
+        final Path file = this.tempDir.resolve("backup");
+        createSnapshot().write(file, "other-offsets", false);
+        this.softly.assertThatThrownBy(() -> read(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("other-offsets");
+    }
+
+    @Test
+    void shouldRejectUnsupportedVersion() throws IOException {
+        final Path file = this.tempDir.resolve("backup");
+        try (final OutputStream outputStream = Files.newOutputStream(file);
+                final DataOutputStream output = new DataOutputStream(outputStream)) {
+            output.writeInt(42);
+            output.writeUTF(TOPIC);
+        }
+        this.softly.assertThatThrownBy(() -> read(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unsupported version 42");
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.TopicPartition;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class OffsetTopicIndexTest {
+    private static final String TOPIC = "offsets";
+    private static final String SELECTION = "names [], pattern .*";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+    private static final byte[] VALUE = "{\"position\": 1}".getBytes();
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static Map<String, Collection<byte[]>> route(final OffsetTopicIndex index, final Pattern pattern) {
+        final PartitionRouter router = PartitionRouter.builder()
+                .connectorPattern(pattern)
+                .build();
+        index.route(router);
+        return router.getCollectors().stream()
+                .collect(Collectors.toMap(PartitionCollector::getConnectorName, PartitionCollector::getPartitions));
+    }
+
+    private static OffsetTopicIndex createIndex() {
+        final OffsetTopicIndex index = new OffsetTopicIndex(TOPIC, SELECTION);
+        index.prepare(List.of(PARTITION_0, PARTITION_1));
+        index.update(0, "connector-1", "[\"connector-1\", 1]".getBytes(), VALUE);
+        index.update(0, "connector-1", "[\"connector-1\", 2]".getBytes(), VALUE);
+        index.update(1, "connector-2", "[\"connector-2\", 1]".getBytes(), VALUE);
+        index.update(0, "connector-1", "[\"connector-1\", 2]".getBytes(), null);
+        index.updatePositions(Map.of(PARTITION_0, 4L, PARTITION_1, 1L));
+        return index;
+    }
+
+    @Test
+    void shouldIndexLiveKeys() {
+        final Map<String, Collection<byte[]>> partitions = route(createIndex(), Pattern.compile(".*"));
+        this.softly.assertThat(partitions).containsOnlyKeys("connector-1", "connector-2");
+        this.softly.assertThat(partitions.get("connector-1"))
+                .containsExactlyInAnyOrder("[\"connector-1\", 1]".getBytes());
+        this.softly.assertThat(partitions.get("connector-2"))
+                .containsExactlyInAnyOrder("[\"connector-2\", 1]".getBytes());
+    }
+
+    @Test
+    void shouldSaveAndLoad(@TempDir final Path tempDir) {
+        final Path file = tempDir.resolve("index");
+        createIndex().save(file);
+        final OffsetTopicIndex loaded = OffsetTopicIndex.load(file, TOPIC, SELECTION);
+        this.softly.assertThat(loaded.getPositions())
+                .containsOnly(Map.entry(PARTITION_0, 4L), Map.entry(PARTITION_1, 1L));
+        this.softly.assertThat(route(loaded, Pattern.compile("connector-1")).get("connector-1"))
+                .containsExactlyInAnyOrder("[\"connector-1\", 1]".getBytes());
+    }
+
+    @Test
+    void shouldIgnoreIndexOfOtherTopic(@TempDir final Path tempDir) {
+        final Path file = tempDir.resolve("index");
+        createIndex().save(file);
+        this.softly.assertThat(OffsetTopicIndex.load(file, "other", SELECTION).getPositions()).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreIndexOfOtherSelection(@TempDir final Path tempDir) {
+        final Path file = tempDir.resolve("index");
+        createIndex().save(file);
+        this.softly.assertThat(OffsetTopicIndex.load(file, TOPIC, "names [connector-1], pattern null").getPositions())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreMissingOrCorruptIndex(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("index");
+        this.softly.assertThat(OffsetTopicIndex.load(file, TOPIC, SELECTION).getPositions()).isEmpty();
+        Files.write(file, new byte[]{0, 0, 0, 1, 0});
+        this.softly.assertThat(OffsetTopicIndex.load(file, TOPIC, SELECTION).getPositions()).isEmpty();
+    }
+
+    @Test
+    void shouldDiscardIndexBeyondEndOffsets() {
+        final OffsetTopicIndex index = createIndex();
+        index.validate(Map.of(PARTITION_0, 0L, PARTITION_1, 0L), Map.of(PARTITION_0, 2L, PARTITION_1, 1L));
+        this.softly.assertThat(index.getPositions()).isEmpty();
+        this.softly.assertThat(route(index, Pattern.compile(".*"))).isEmpty();
+    }
+
+    @Test
+    void shouldKeepValidIndex() {
+        final OffsetTopicIndex index = createIndex();
+        index.validate(Map.of(PARTITION_0, 0L, PARTITION_1, 0L), Map.of(PARTITION_0, 10L, PARTITION_1, 1L));
+        this.softly.assertThat(index.getPositions()).containsEntry(PARTITION_0, 4L);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class OffsetTopicScannerTest {
+    private static final String TOPIC = "offsets";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static ConsumerRecord<byte[], byte[]> createRecord(final TopicPartition topicPartition, final long offset) {
+        return new ConsumerRecord<>(topicPartition.topic(), topicPartition.partition(), offset,
+                ("key-" + offset).getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static MockConsumer<byte[], byte[]> createConsumer(final Map<TopicPartition, Long> endOffsets) {
+        final MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+        consumer.updateEndOffsets(endOffsets);
+        return consumer;
+    }
+
+    @Test
+    void shouldStopAtCapturedEndOffsets() {
+        final MockConsumer<byte[], byte[]> consumer = createConsumer(Map.of(PARTITION_0, 2L, PARTITION_1, 0L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(createRecord(PARTITION_0, 0L));
+            consumer.addRecord(createRecord(PARTITION_0, 1L));
+            // written after the scan started
+            consumer.addRecord(createRecord(PARTITION_0, 2L));
+        });
+        final OffsetTopicScanner scanner = OffsetTopicScanner.builder()
+                .consumer(consumer)
+                .partitions(List.of(PARTITION_0, PARTITION_1))
+                .pollDuration(Duration.ofMillis(100L))
+                .build();
+        final List<String> keys = new ArrayList<>();
+        final Map<TopicPartition, Long> endOffsets =
+                scanner.scan((key, value) -> keys.add(new String(key, StandardCharsets.UTF_8)));
+        this.softly.assertThat(keys).containsExactly("key-0", "key-1");
+        this.softly.assertThat(endOffsets).containsEntry(PARTITION_0, 2L).containsEntry(PARTITION_1, 0L);
+        this.softly.assertThat(consumer.assignment()).isEmpty();
+    }
+
+    @Test
+    void shouldNotPollEmptyTopic() {
+        final MockConsumer<byte[], byte[]> consumer = createConsumer(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+        consumer.schedulePollTask(() -> {
+            throw new IllegalStateException("Should not poll");
+        });
+        final OffsetTopicScanner scanner = OffsetTopicScanner.builder()
+                .consumer(consumer)
+                .partitions(List.of(PARTITION_0, PARTITION_1))
+                .pollDuration(Duration.ofMillis(100L))
+                .build();
+        final List<byte[]> keys = new ArrayList<>();
+        scanner.scan((key, value) -> keys.add(key));
+        this.softly.assertThat(keys).isEmpty();
+    }
+
+    @Test
+    void shouldStartAtStartOffsets() {
+        final MockConsumer<byte[], byte[]> consumer = createConsumer(Map.of(PARTITION_0, 3L, PARTITION_1, 1L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(createRecord(PARTITION_0, 2L));
+            consumer.addRecord(createRecord(PARTITION_1, 0L));
+        });
+        final OffsetTopicScanner scanner = OffsetTopicScanner.builder()
+                .consumer(consumer)
+                .partitions(List.of(PARTITION_0, PARTITION_1))
+                .pollDuration(Duration.ofMillis(100L))
+                .startOffsets(Map.of(PARTITION_0, 2L))
+                .build();
+        final List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+        scanner.scanRecords(records::add);
+        this.softly.assertThat(records)
+                .extracting(ConsumerRecord::partition, ConsumerRecord::offset)
+                .containsExactlyInAnyOrder(tuple(0, 2L), tuple(1, 0L));
+    }
+
+    @Test
+    void shouldReportMetrics() {
+        final MockConsumer<byte[], byte[]> consumer = createConsumer(Map.of(PARTITION_0, 2L, PARTITION_1, 1L));
+        consumer.schedulePollTask(() -> consumer.addRecord(createRecord(PARTITION_0, 0L)));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(createRecord(PARTITION_0, 1L));
+            consumer.addRecord(createRecord(PARTITION_1, 0L));
+        });
+        final ResetMetrics metrics = new ResetMetrics();
+        final OffsetTopicScanner scanner = OffsetTopicScanner.builder()
+                .consumer(consumer)
+                .partitions(List.of(PARTITION_0, PARTITION_1))
+                .pollDuration(Duration.ofMillis(100L))
+                .metrics(metrics)
+                .build();
+        scanner.scan((key, value) -> {
+            if (metrics.getRecordsScanned() == 1L) {
+                this.softly.assertThat(metrics.getTotalLag()).isEqualTo(3L);
+            }
+        });
+        this.softly.assertThat(metrics.getRecordsScanned()).isEqualTo(3L);
+        this.softly.assertThat(metrics.getBytesRead()).isEqualTo(15L);
+        this.softly.assertThat(metrics.getTotalLag()).isZero();
+        this.softly.assertThat(metrics.getLag()).containsOnlyKeys("offsets-0", "offsets-1");
+    }
+}
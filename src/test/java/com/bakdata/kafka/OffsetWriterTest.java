@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class OffsetWriterTest {
+    private static final String TOPIC = "offsets";
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static MockProducer<byte[], byte[]> createProducer(final boolean autoComplete) {
+        final MockProducer<byte[], byte[]> producer =
+                new MockProducer<>(autoComplete, new ByteArraySerializer(), new ByteArraySerializer());
+        producer.initTransactions();
+        return producer;
+    }
+
+    private static OffsetWriter createWriter(final MockProducer<byte[], byte[]> producer) {
+        return OffsetWriter.builder()
+                .producer(producer)
+                .topic(TOPIC)
+                .build();
+    }
+
+    @Test
+    void shouldSendTombstonesInTransaction() {
+        final MockProducer<byte[], byte[]> producer = createProducer(true);
+        final OffsetWriter writer = createWriter(producer);
+        writer.begin();
+        writer.send("[\"my-connector\", 1]".getBytes());
+        writer.send("[\"my-connector\", 2]".getBytes());
+        writer.commit();
+        this.softly.assertThat(producer.transactionCommitted()).isTrue();
+        this.softly.assertThat(writer.getSent()).isEqualTo(2L);
+        this.softly.assertThat(producer.history())
+                .hasSize(2)
+                .allSatisfy(producerRecord -> {
+                    this.softly.assertThat(producerRecord.topic()).isEqualTo(TOPIC);
+                    this.softly.assertThat(producerRecord.value()).isNull();
+                })
+                .extracting(ProducerRecord::key)
+                .containsExactly("[\"my-connector\", 1]".getBytes(), "[\"my-connector\", 2]".getBytes());
+    }
+
+    @Test
+    void shouldSendOffsetValues() {
+        final MockProducer<byte[], byte[]> producer = createProducer(true);
+        final OffsetWriter writer = createWriter(producer);
+        writer.begin();
+        writer.send("[\"my-connector\", 1]".getBytes(), "{\"position\": 3}".getBytes());
+        writer.commit();
+        this.softly.assertThat(producer.transactionCommitted()).isTrue();
+        this.softly.assertThat(writer.getCommitted()).isEqualTo(1L);
+        this.softly.assertThat(producer.history())
+                .extracting(ProducerRecord::value)
+                .containsExactly("{\"position\": 3}".getBytes());
+    }
+
+    @Test
+    void shouldFailFastOnSendError() {
+        final MockProducer<byte[], byte[]> producer = createProducer(false);
+        final OffsetWriter writer = createWriter(producer);
+        writer.begin();
+        writer.send("[\"my-connector\", 1]".getBytes());
+        writer.send("[\"my-connector\", 2]".getBytes());
+        producer.errorNext(new KafkaException("Failed"));
+        this.softly.assertThatThrownBy(() -> writer.send("[\"my-connector\", 3]".getBytes()))
+                .isInstanceOf(ResetterException.class)
+                .hasMessage("Failed to send offset");
+        this.softly.assertThatThrownBy(writer::commit)
+                .isInstanceOf(ResetterException.class)
+                .hasMessage("Failed to send offset");
+        writer.abort();
+        this.softly.assertThat(producer.transactionCommitted()).isFalse();
+        this.softly.assertThat(producer.transactionAborted()).isTrue();
+    }
+
+    @Test
+    void shouldCommitInChunks() {
+        final MockProducer<byte[], byte[]> producer = createProducer(true);
+        final OffsetWriter writer = OffsetWriter.builder()
+                .producer(producer)
+                .topic(TOPIC)
+                .maxRecordsPerTransaction(2L)
+                .build();
+        writer.begin();
+        for (int i = 0; i < 5; i++) {
+            writer.send(("[\"my-connector\", " + i + "]").getBytes());
+        }
+        this.softly.assertThat(producer.commitCount()).isEqualTo(2L);
+        this.softly.assertThat(writer.getCommitted()).isEqualTo(4L);
+        writer.commit();
+        this.softly.assertThat(producer.commitCount()).isEqualTo(3L);
+        this.softly.assertThat(writer.getCommitted()).isEqualTo(5L);
+        this.softly.assertThat(producer.history()).hasSize(5);
+    }
+
+    @Test
+    void shouldNotCommitEmptyTransactionAfterFullChunk() {
+        final MockProducer<byte[], byte[]> producer = createProducer(true);
+        final OffsetWriter writer = OffsetWriter.builder()
+                .producer(producer)
+                .topic(TOPIC)
+                .maxRecordsPerTransaction(2L)
+                .build();
+        writer.begin();
+        for (int i = 0; i < 4; i++) {
+            writer.send(("[\"my-connector\", " + i + "]").getBytes());
+        }
+        writer.commit();
+        this.softly.assertThat(producer.commitCount()).isEqualTo(2L);
+        this.softly.assertThat(writer.getCommitted()).isEqualTo(4L);
+        this.softly.assertThat(producer.history()).hasSize(4);
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class OpenMetricsExporterTest {
+    // grammar of the Prometheus text format 0.0.4 as implemented by the parser of the Pushgateway
+    private static final String METRIC_NAME = "[a-zA-Z_:][a-zA-Z0-9_:]*";
+    private static final Pattern HELP = Pattern.compile("# HELP (" + METRIC_NAME + ") ((?:[^\\\\\n]|\\\\[\\\\n])*)");
+    private static final Pattern TYPE =
+            Pattern.compile("# TYPE (" + METRIC_NAME + ") (counter|gauge|histogram|summary|untyped)");
+    private static final Pattern SAMPLE = Pattern.compile("(" + METRIC_NAME + ")"
+            + "(?:\\{(?:[a-zA-Z_][a-zA-Z0-9_]*=\"(?:[^\"\\\\\n]|\\\\[\\\\n\"])*\",?)*})? "
+            + "(NaN|[+-]Inf|[+-]?[0-9.]+(?:[eE][+-]?[0-9]+)?)");
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+    @TempDir
+    private Path tempDir;
+
+    private static OpenMetricsExporter createExporter(final Map<MetricName, ? extends Metric> clientMetrics) {
+        final ResetMetrics metrics = new ResetMetrics();
+        metrics.recordScanned(10);
+        metrics.keyMatched();
+        metrics.tombstoneSent();
+        metrics.partitionsReset(1L);
+        metrics.time("scan", () -> { });
+        return OpenMetricsExporter.builder()
+                .command("source")
+                .metrics(metrics)
+                .clientMetrics(clientMetrics)
+                .build();
+    }
+
+    private static void assertPrometheusFormat(final SoftAssertions softly, final String exported) {
+        final Map<String, String> types = new HashMap<>();
+        final Set<String> families = new HashSet<>();
+        for (final String line : exported.split("\n")) {
+            final Matcher help = HELP.matcher(line);
+            final Matcher type = TYPE.matcher(line);
+            final Matcher sample = SAMPLE.matcher(line);
+            if (help.matches()) {
+                families.add(help.group(1));
+            } else if (type.matches()) {
+                softly.assertThat(types.put(type.group(1), type.group(2)))
+                        .as("Second TYPE line for %s", type.group(1))
+                        .isNull();
+            } else if (sample.matches()) {
+                softly.assertThat(types).as("TYPE of sample %s", line).containsKey(sample.group(1));
+            } else {
+                softly.fail("Invalid line %s", line);
+            }
+        }
+        softly.assertThat(types.keySet()).as("Families with help").containsAll(families);
+    }
+
+    private static Metric metric(final MetricName name, final Object value) {
+        return new Metric() {
+            @Override
+            public MetricName metricName() {
+                return name;
+            }
+
+            @Override
+            public Object metricValue() {
+                return value;
+            }
+        };
+    }
+
+    @Test
+    void shouldExportResetMetrics() {
+        final String exported = createExporter(Map.of()).export();
+        this.softly.assertThat(exported)
+                .contains("# TYPE kafka_connect_resetter_records_scanned counter\n")
+                .contains("kafka_connect_resetter_records_scanned_total{command=\"source\"} 1\n")
+                .contains("kafka_connect_resetter_bytes_read_total{command=\"source\"} 10\n")
+                .contains("kafka_connect_resetter_partitions_reset_total{command=\"source\"} 1\n")
+                .contains("# TYPE kafka_connect_resetter_phase_duration_seconds gauge\n")
+                .contains("kafka_connect_resetter_phase_duration_seconds{command=\"source\",phase=\"scan\"} ")
+                .endsWith("# EOF\n");
+    }
+
+    @Test
+    void shouldExportClientMetrics() {
+        final MetricName fetchRate = new MetricName("fetch-rate", "consumer-fetch-manager-metrics",
+                "Number of fetch requests per second", Map.of("client-id", "resetter-0"));
+        final MetricName recordSendRate = new MetricName("record-send-rate", "producer-topic-metrics",
+                "Records sent per second", Map.of("client-id", "resetter", "topic", "offsets"));
+        final MetricName ignored = new MetricName("connection-count", "consumer-metrics",
+                "Current number of connections", Map.of("client-id", "resetter-0"));
+        final MetricName nonNumeric = new MetricName("version", "producer-metrics", "Client version", Map.of());
+        final String exported = createExporter(Map.of(
+                fetchRate, metric(fetchRate, 2.5),
+                recordSendRate, metric(recordSendRate, Double.NaN),
+                ignored, metric(ignored, 1.0),
+                nonNumeric, metric(nonNumeric, "3.9.0")
+        )).export();
+        this.softly.assertThat(exported)
+                .contains("# TYPE kafka_consumer_fetch_manager_metrics_fetch_rate gauge\n")
+                .contains("# HELP kafka_consumer_fetch_manager_metrics_fetch_rate "
+                        + "Number of fetch requests per second\n")
+                .contains("kafka_consumer_fetch_manager_metrics_fetch_rate{client_id=\"resetter-0\"} 2.5\n")
+                .contains("kafka_producer_topic_metrics_record_send_rate"
+                        + "{client_id=\"resetter\",topic=\"offsets\"} NaN\n")
+                .doesNotContain("connection_count")
+                .doesNotContain("version");
+    }
+
+    @Test
+    void shouldExportPrometheusFormat() {
+        final MetricName fetchRate = new MetricName("fetch-rate", "consumer-fetch-manager-metrics",
+                "Number of \"fetch\" requests per second\nof C:\\", Map.of("client-id", "resetter-0"));
+        final String exported = createExporter(Map.of(fetchRate, metric(fetchRate, 2.5))).exportPrometheus();
+        this.softly.assertThat(exported)
+                .contains("# TYPE kafka_connect_resetter_records_scanned_total counter\n")
+                .contains("kafka_connect_resetter_records_scanned_total{command=\"source\"} 1\n")
+                .contains("# TYPE kafka_connect_resetter_phase_duration_seconds gauge\n")
+                .contains("# TYPE kafka_consumer_fetch_manager_metrics_fetch_rate gauge\n")
+                .contains("# HELP kafka_consumer_fetch_manager_metrics_fetch_rate "
+                        + "Number of \"fetch\" requests per second\\nof C:\\\\\n")
+                .doesNotContain("# EOF");
+        assertPrometheusFormat(this.softly, exported);
+    }
+
+    @Test
+    void shouldWriteFile() throws IOException {
+        final Path file = this.tempDir.resolve("metrics.txt");
+        final OpenMetricsExporter exporter = createExporter(Map.of());
+        exporter.write(file);
+        this.softly.assertThat(Files.readString(file)).isEqualTo(exporter.export());
+    }
+
+    @Test
+    void shouldPushMetrics() throws IOException, InterruptedException {
+        final AtomicReference<String> contentType = new AtomicReference<>();
+        final AtomicReference<String> body = new AtomicReference<>();
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/metrics/job/resetter", exchange -> {
+            try (final InputStream requestBody = exchange.getRequestBody()) {
+                contentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+                body.set(new String(requestBody.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            final OpenMetricsExporter exporter = createExporter(Map.of());
+            exporter.push(URI.create(
+                    "http://localhost:" + server.getAddress().getPort() + "/metrics/job/resetter"));
+            this.softly.assertThat(contentType.get()).isEqualTo(OpenMetricsExporter.PUSH_CONTENT_TYPE);
+            this.softly.assertThat(body.get()).isEqualTo(exporter.exportPrometheus());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldFailOnRejectedPush() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(400, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            final OpenMetricsExporter exporter = createExporter(Map.of());
+            this.softly.assertThatThrownBy(
+                            () -> exporter.push(URI.create("http://localhost:" + server.getAddress().getPort())))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("status 400");
+        } finally {
+            server.stop(0);
+        }
+    }
+}
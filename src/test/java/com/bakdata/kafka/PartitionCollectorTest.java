@@ -24,11 +24,8 @@
 
 package com.bakdata.kafka;
 
-
-import java.util.Map;
-import org.apache.kafka.connect.json.JsonConverter;
-import org.apache.kafka.connect.json.JsonConverterConfig;
-import org.apache.kafka.connect.storage.Converter;
+import java.util.ArrayList;
+import java.util.List;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -37,22 +34,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 @ExtendWith(SoftAssertionsExtension.class)
 class PartitionCollectorTest {
+    private static final byte[] VALUE = "{\"position\": 1}".getBytes();
     @InjectSoftAssertions
     private SoftAssertions softly;
 
-    private static Converter createJsonConverter() {
-        final Converter converter = new JsonConverter();
-        converter.configure(Map.of(JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, false), false);
-        return converter;
+    private static boolean update(final PartitionCollector collector, final String key, final byte[] value) {
+        return collector.update(OffsetKeyParser.parse(key.getBytes()), value);
     }
 
     @Test
     void shouldRecognizeConnector() {
         final PartitionCollector collector = PartitionCollector.builder()
-                .converter(createJsonConverter())
                 .connectorName("my-connector")
                 .build();
-        collector.handle("[\"my-connector\", {}]".getBytes());
+        update(collector, "[\"my-connector\", {}]", VALUE);
         this.softly.assertThat(collector.getPartitions())
                 .hasSize(1)
                 .containsExactlyInAnyOrder("[\"my-connector\", {}]".getBytes());
@@ -61,40 +56,106 @@ class PartitionCollectorTest {
     @Test
     void shouldRecognizeDifferentPartitions() {
         final PartitionCollector collector = PartitionCollector.builder()
-                .converter(createJsonConverter())
                 .connectorName("my-connector")
                 .build();
-        collector.handle("[\"my-connector\", 1]".getBytes());
-        collector.handle("[\"my-connector\", 2]".getBytes());
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        update(collector, "[\"my-connector\", 2]", VALUE);
         this.softly.assertThat(collector.getPartitions())
                 .hasSize(2)
                 .containsExactlyInAnyOrder("[\"my-connector\", 1]".getBytes(), "[\"my-connector\", 2]".getBytes());
     }
 
+    @Test
+    void shouldOnlyCollectPartitionsMatchingFilter() {
+        final PartitionCollector collector = PartitionCollector.builder()
+                .connectorName("my-connector")
+                .partitionFilter(PartitionFilter.all(List.of(PartitionFilter.parse("table=orders"))))
+                .build();
+        this.softly.assertThat(update(collector, "[\"my-connector\", {\"table\": \"orders\"}]", VALUE))
+                .isTrue();
+        this.softly.assertThat(update(collector, "[\"my-connector\", {\"table\": \"customers\"}]", VALUE))
+                .isFalse();
+        this.softly.assertThat(update(collector, "[\"my-connector\", {\"table\": \"customers\"}]", null))
+                .isFalse();
+        this.softly.assertThat(collector.getPartitions())
+                .containsExactlyInAnyOrder("[\"my-connector\", {\"table\": \"orders\"}]".getBytes());
+    }
+
     @Test
     void shouldIgnoreDuplicates() {
         final PartitionCollector collector = PartitionCollector.builder()
-                .converter(createJsonConverter())
                 .connectorName("my-connector")
                 .build();
-        collector.handle("[\"my-connector\", {}]".getBytes());
+        update(collector, "[\"my-connector\", {}]", VALUE);
         this.softly.assertThat(collector.getPartitions())
                 .hasSize(1)
                 .containsExactlyInAnyOrder("[\"my-connector\", {}]".getBytes());
-        collector.handle("[\"my-connector\", {}]".getBytes());
+        update(collector, "[\"my-connector\", {}]", VALUE);
         this.softly.assertThat(collector.getPartitions())
                 .hasSize(1)
                 .containsExactlyInAnyOrder("[\"my-connector\", {}]".getBytes());
     }
 
     @Test
-    void shouldIgnoreDifferentConnectors() {
+    void shouldMergeCollectors() {
+        final PartitionCollector collector = PartitionCollector.builder()
+                .connectorName("my-connector")
+                .build();
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        final PartitionCollector other = PartitionCollector.builder()
+                .connectorName("my-connector")
+                .build();
+        update(other, "[\"my-connector\", 1]", VALUE);
+        update(other, "[\"my-connector\", 2]", VALUE);
+        collector.merge(other);
+        this.softly.assertThat(collector.getPartitions())
+                .hasSize(2)
+                .containsExactlyInAnyOrder("[\"my-connector\", 1]".getBytes(), "[\"my-connector\", 2]".getBytes());
+    }
+
+    @Test
+    void shouldIgnoreResetPartitions() {
+        final PartitionCollector collector = PartitionCollector.builder()
+                .connectorName("my-connector")
+                .build();
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        update(collector, "[\"my-connector\", 2]", VALUE);
+        update(collector, "[\"my-connector\", 1]", null);
+        update(collector, "[\"my-connector\", 3]", null);
+        this.softly.assertThat(collector.getPartitions())
+                .hasSize(1)
+                .containsExactlyInAnyOrder("[\"my-connector\", 2]".getBytes());
+    }
+
+    @Test
+    void shouldCollectPartitionsWrittenAfterReset() {
         final PartitionCollector collector = PartitionCollector.builder()
-                .converter(createJsonConverter())
                 .connectorName("my-connector")
                 .build();
-        collector.handle("[\"not-my-connector\", {}]".getBytes());
-        this.softly.assertThat(collector.getPartitions()).isEmpty();
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        update(collector, "[\"my-connector\", 1]", null);
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        this.softly.assertThat(collector.getPartitions())
+                .hasSize(1)
+                .containsExactlyInAnyOrder("[\"my-connector\", 1]".getBytes());
+    }
+
+    @Test
+    void shouldPassNewPartitionsToListener() {
+        final List<byte[]> listened = new ArrayList<>();
+        final PartitionCollector collector = PartitionCollector.builder()
+                .connectorName("my-connector")
+                .partitionListener(listened::add)
+                .build();
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        update(collector, "[\"my-connector\", 2]", null);
+        update(collector, "[\"my-connector\", 1]", null);
+        update(collector, "[\"my-connector\", 1]", VALUE);
+        this.softly.assertThat(listened)
+                .containsExactly("[\"my-connector\", 1]".getBytes());
+        this.softly.assertThat(collector.getPartitions())
+                .containsExactlyInAnyOrder("[\"my-connector\", 1]".getBytes());
     }
 
 }
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.List;
+import java.util.function.Predicate;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class PartitionFilterTest {
+    private static final byte[] ORDERS = "[\"jdbc\", {\"schema\": \"sales\", \"table\": \"orders_2024\"}]".getBytes();
+    private static final byte[] CUSTOMERS = "[\"jdbc\", {\"schema\": \"crm\", \"table\": \"customers\"}]".getBytes();
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static Predicate<byte[]> filter(final String... expressions) {
+        final Predicate<OffsetKey> filter = PartitionFilter.all(List.of(expressions).stream()
+                .map(PartitionFilter::parse)
+                .toList());
+        return bytes -> filter.test(OffsetKeyParser.parse(bytes));
+    }
+
+    @Test
+    void shouldMatchEquals() {
+        final Predicate<byte[]> filter = filter("table=customers");
+        this.softly.assertThat(filter.test(CUSTOMERS)).isTrue();
+        this.softly.assertThat(filter.test(ORDERS)).isFalse();
+    }
+
+    @Test
+    void shouldMatchPrefix() {
+        final Predicate<byte[]> filter = filter("table^=orders_");
+        this.softly.assertThat(filter.test(ORDERS)).isTrue();
+        this.softly.assertThat(filter.test(CUSTOMERS)).isFalse();
+    }
+
+    @Test
+    void shouldMatchRegex() {
+        final Predicate<byte[]> filter = filter("table~=orders_\\d+|customers");
+        this.softly.assertThat(filter.test(ORDERS)).isTrue();
+        this.softly.assertThat(filter.test(CUSTOMERS)).isTrue();
+        this.softly.assertThat(filter("table~=orders").test(ORDERS)).isFalse();
+    }
+
+    @Test
+    void shouldRequireAllFiltersToMatch() {
+        final Predicate<byte[]> filter = filter("schema=sales", "table^=orders");
+        this.softly.assertThat(filter.test(ORDERS)).isTrue();
+        this.softly.assertThat(filter("schema=crm", "table^=orders").test(ORDERS)).isFalse();
+    }
+
+    @Test
+    void shouldMatchNonStringFields() {
+        final Predicate<byte[]> filter = filter("shard=1");
+        this.softly.assertThat(filter.test("[\"connector\", {\"shard\": 1}]".getBytes())).isTrue();
+        this.softly.assertThat(filter.test("[\"connector\", {\"shard\": {\"id\": 1}}]".getBytes())).isFalse();
+    }
+
+    @Test
+    void shouldMatchNumbersByTheirText() {
+        this.softly.assertThat(filter("shard=01").test("[\"connector\", {\"shard\": 01}]".getBytes())).isTrue();
+        this.softly.assertThat(filter("shard=1.50").test("[\"connector\", {\"shard\": 1.50}]".getBytes())).isTrue();
+        this.softly.assertThat(filter("shard=1").test("[\"connector\", {\"shard\": 1.0}]".getBytes())).isFalse();
+        this.softly.assertThat(filter("active=true").test("[\"connector\", {\"active\": true}]".getBytes()))
+                .isTrue();
+    }
+
+    @Test
+    void shouldDecodeEscapedFields() {
+        final byte[] key = "[\"connector\", {\"ta\\u0062le\": \"a\\\"b\", \"other\": [1, {}]}]".getBytes();
+        this.softly.assertThat(filter("table=a\"b").test(key)).isTrue();
+        this.softly.assertThat(filter("other=[1, {}]").test(key)).isFalse();
+    }
+
+    @Test
+    void shouldUseLastOccurrenceOfField() {
+        final Predicate<byte[]> filter = filter("table=orders");
+        this.softly.assertThat(filter.test("[\"connector\", {\"table\": \"x\", \"table\": \"orders\"}]".getBytes()))
+                .isTrue();
+        this.softly.assertThat(filter.test("[\"connector\", {\"table\": \"orders\", \"table\": \"x\"}]".getBytes()))
+                .isFalse();
+    }
+
+    @Test
+    void shouldNotMatchMissingPartition() {
+        final Predicate<byte[]> filter = filter("table=customers");
+        this.softly.assertThat(filter.test("[\"connector\", {}]".getBytes())).isFalse();
+        this.softly.assertThat(filter.test("[\"connector\", null]".getBytes())).isFalse();
+        this.softly.assertThat(filter.test("[\"connector\"]".getBytes())).isFalse();
+    }
+
+    @Test
+    void shouldAllowEqualsInValue() {
+        final Predicate<byte[]> filter = filter("query=a=b");
+        this.softly.assertThat(filter.test("[\"connector\", {\"query\": \"a=b\"}]".getBytes())).isTrue();
+    }
+
+    @Test
+    void shouldRejectInvalidExpressions() {
+        this.softly.assertThatThrownBy(() -> PartitionFilter.parse("table"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid partition filter 'table'");
+        this.softly.assertThatThrownBy(() -> PartitionFilter.parse("=orders"))
+                .isInstanceOf(IllegalArgumentException.class);
+        this.softly.assertThatThrownBy(() -> PartitionFilter.parse("^=orders"))
+                .isInstanceOf(IllegalArgumentException.class);
+        this.softly.assertThatThrownBy(() -> PartitionFilter.parse("table~=("))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
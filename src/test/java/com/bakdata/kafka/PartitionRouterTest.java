@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class PartitionRouterTest {
+    private static final byte[] VALUE = "{\"position\": 1}".getBytes();
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static Map<String, Collection<byte[]>> getPartitions(final PartitionRouter router) {
+        return router.getCollectors().stream()
+                .collect(Collectors.toMap(PartitionCollector::getConnectorName, PartitionCollector::getPartitions));
+    }
+
+    @Test
+    void shouldRouteToConnectors() {
+        final PartitionRouter router = PartitionRouter.builder()
+                .connectorName("connector-1")
+                .connectorName("connector-2")
+                .connectorName("connector-3")
+                .build();
+        router.handle("[\"connector-1\", 1]".getBytes(), VALUE);
+        router.handle("[\"connector-2\", 1]".getBytes(), VALUE);
+        router.handle("[\"connector-2\", 2]".getBytes(), VALUE);
+        router.handle("[\"connector-4\", 1]".getBytes(), VALUE);
+        final Map<String, Collection<byte[]>> partitions = getPartitions(router);
+        this.softly.assertThat(partitions).containsOnlyKeys("connector-1", "connector-2", "connector-3");
+        this.softly.assertThat(partitions.get("connector-1"))
+                .containsExactlyInAnyOrder("[\"connector-1\", 1]".getBytes());
+        this.softly.assertThat(partitions.get("connector-2"))
+                .containsExactlyInAnyOrder("[\"connector-2\", 1]".getBytes(), "[\"connector-2\", 2]".getBytes());
+        this.softly.assertThat(partitions.get("connector-3")).isEmpty();
+    }
+
+    @Test
+    void shouldRouteByPattern() {
+        final PartitionRouter router = PartitionRouter.builder()
+                .connectorName("other")
+                .connectorPattern(Pattern.compile("connector-\\d"))
+                .build();
+        router.handle("[\"connector-1\", 1]".getBytes(), VALUE);
+        router.handle("[\"connector-2\", 1]".getBytes(), VALUE);
+        router.handle("[\"connector-10\", 1]".getBytes(), VALUE);
+        router.handle("[\"other\", 1]".getBytes(), VALUE);
+        final Map<String, Collection<byte[]>> partitions = getPartitions(router);
+        this.softly.assertThat(partitions).containsOnlyKeys("other", "connector-1", "connector-2");
+        this.softly.assertThat(partitions.get("other"))
+                .containsExactlyInAnyOrder("[\"other\", 1]".getBytes());
+    }
+
+    @Test
+    void shouldSelectConnector() {
+        final PartitionRouter router = PartitionRouter.builder()
+                .connectorName("other")
+                .connectorPattern(Pattern.compile("connector-\\d"))
+                .build();
+        this.softly.assertThat(router.selectConnector("[\"connector-1\", 1]".getBytes())).isEqualTo("connector-1");
+        this.softly.assertThat(router.selectConnector("[\"other\", 1]".getBytes())).isEqualTo("other");
+        this.softly.assertThat(router.selectConnector("[\"connector-10\", 1]".getBytes())).isNull();
+        this.softly.assertThat(router.getCollectors()).hasSize(1);
+    }
+
+    @Test
+    void shouldMergeRouters() {
+        final PartitionRouter router = PartitionRouter.builder()
+                .connectorPattern(Pattern.compile("connector-\\d"))
+                .build();
+        router.handle("[\"connector-1\", 1]".getBytes(), VALUE);
+        final PartitionRouter other = PartitionRouter.builder()
+                .connectorPattern(Pattern.compile("connector-\\d"))
+                .build();
+        other.handle("[\"connector-1\", 2]".getBytes(), VALUE);
+        other.handle("[\"connector-2\", 1]".getBytes(), VALUE);
+        router.merge(other);
+        final Map<String, Collection<byte[]>> partitions = getPartitions(router);
+        this.softly.assertThat(partitions).containsOnlyKeys("connector-1", "connector-2");
+        this.softly.assertThat(partitions.get("connector-1"))
+                .containsExactlyInAnyOrder("[\"connector-1\", 1]".getBytes(), "[\"connector-1\", 2]".getBytes());
+    }
+
+}
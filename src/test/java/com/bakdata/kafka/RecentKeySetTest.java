@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class RecentKeySetTest {
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private static byte[] bytes(final String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldRejectRecentDuplicates() {
+        final RecentKeySet set = new RecentKeySet(2);
+        this.softly.assertThat(set.add(bytes("foo"))).isTrue();
+        this.softly.assertThat(set.add(bytes("bar"))).isTrue();
+        this.softly.assertThat(set.add(bytes("baz"))).isTrue();
+        this.softly.assertThat(set.add(bytes("foo"))).isFalse();
+        this.softly.assertThat(set.add(bytes("baz"))).isFalse();
+        this.softly.assertThat(set)
+                .hasSize(3)
+                .containsExactlyInAnyOrder(bytes("foo"), bytes("bar"), bytes("baz"));
+    }
+
+    @Test
+    void shouldBoundSize() {
+        final RecentKeySet set = new RecentKeySet(100);
+        IntStream.range(0, 10_000).forEach(i -> set.add(bytes("key-" + i)));
+        this.softly.assertThat(set.size()).isLessThanOrEqualTo(200);
+        this.softly.assertThat(set.contains(bytes("key-9999"))).isTrue();
+        this.softly.assertThat(set.contains(bytes("key-0"))).isFalse();
+        this.softly.assertThat(set.add(bytes("key-0"))).isTrue();
+    }
+
+    @Test
+    void shouldKeepElementsThatAreSeenAgain() {
+        final RecentKeySet set = new RecentKeySet(10);
+        set.add(bytes("hot"));
+        IntStream.range(0, 100).forEach(i -> {
+            set.add(bytes("key-" + i));
+            set.add(bytes("hot"));
+        });
+        this.softly.assertThat(set.contains(bytes("hot"))).isTrue();
+        this.softly.assertThat(set.remove(bytes("hot"))).isTrue();
+        this.softly.assertThat(set.contains(bytes("hot"))).isFalse();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.connect.util.clusters.EmbeddedKafkaCluster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+/**
+ * End-to-end benchmark of the source and sink resetters against an embedded Kafka cluster. The offset topic is filled
+ * with synthetic Kafka Connect offsets and consumer groups are created for synthetic sink connectors. The complete
+ * commands are then timed and a JSON report is written to the file given by the system property
+ * {@code benchmark.report}.
+ *
+ * <p>Run with {@code ./gradlew endToEndBenchmark}. The size of the benchmark can be configured with the Gradle
+ * properties {@code benchmark.records}, {@code benchmark.connectors}, {@code benchmark.keys} (distinct partitions per
+ * connector) and {@code benchmark.partitions} (partitions of the offset and data topic). Peak heap is measured in the
+ * benchmark JVM, which also hosts the embedded broker.</p>
+ */
+@Tag("benchmark")
+class ResetBenchmarkTest {
+    private static final String OFFSETS = "offsets";
+    private static final String TOPIC = "topic";
+    private final int numRecords = Integer.getInteger("benchmark.records", 1_000_000);
+    private final int numConnectors = Integer.getInteger("benchmark.connectors", 100);
+    private final int numKeys = Integer.getInteger("benchmark.keys", 1_000);
+    private final int numPartitions = Integer.getInteger("benchmark.partitions", 25);
+    private final EmbeddedKafkaCluster kafkaCluster = new EmbeddedKafkaCluster(1, new Properties());
+
+    private static byte[] createKey(final int connector, final int key) {
+        return ("[\"connector-" + connector + "\",{\"filename\":\"/data/import/file-" + key + ".csv\"}]")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long getPeakHeap() {
+        return heapPools().stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> measure(final long records, final String... args) {
+        resetPeakHeap();
+        final long start = System.nanoTime();
+        final int exitCode = new CommandLine(new KafkaConnectResetterApplication()).execute(args);
+        final Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+        assertThat(exitCode).isZero();
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("records", records);
+        result.put("wallTimeMs", wallTime.toMillis());
+        result.put("recordsPerSecond", records * 1_000_000_000.0 / Math.max(1L, wallTime.toNanos()));
+        result.put("peakHeapBytes", getPeakHeap());
+        return result;
+    }
+
+    @BeforeEach
+    void setup() {
+        this.kafkaCluster.start();
+        this.kafkaCluster.createTopic(OFFSETS, this.numPartitions, 1,
+                Map.of(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT));
+        this.kafkaCluster.createTopic(TOPIC, this.numPartitions, 1, Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.kafkaCluster.stop();
+    }
+
+    @Test
+    void shouldMeasureResets() throws IOException, ExecutionException, InterruptedException {
+        this.fillOffsetTopic();
+        this.createConsumerGroups();
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("parameters", Map.of(
+                "records", this.numRecords,
+                "connectors", this.numConnectors,
+                "keys", this.numKeys,
+                "partitions", this.numPartitions
+        ));
+        report.put("source", measure(this.numRecords, "source", "connector-0",
+                "--brokers", this.kafkaCluster.bootstrapServers(),
+                "--offset-topic", OFFSETS
+        ));
+        report.put("sink", measure((long) this.numConnectors * this.numPartitions, "sink",
+                "--connector-pattern", "connector-.*",
+                "--brokers", this.kafkaCluster.bootstrapServers()
+        ));
+        final Path reportFile = Path.of(System.getProperty("benchmark.report", "build/reports/benchmark/reset.json"));
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportFile.toFile(), report);
+    }
+
+    private void fillOffsetTopic() {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, 256 * 1024);
+        final Random random = new Random(42L);
+        final byte[] value = "{\"position\":1234}".getBytes(StandardCharsets.UTF_8);
+        try (final KafkaProducer<byte[], byte[]> producer = this.kafkaCluster.createProducer(properties)) {
+            for (int i = 0; i < this.numRecords; i++) {
+                final byte[] key = createKey(random.nextInt(this.numConnectors), random.nextInt(this.numKeys));
+                producer.send(new ProducerRecord<>(OFFSETS, key, value));
+            }
+        }
+    }
+
+    private void createConsumerGroups() throws ExecutionException, InterruptedException {
+        final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (int partition = 0; partition < this.numPartitions; partition++) {
+            offsets.put(new TopicPartition(TOPIC, partition), new OffsetAndMetadata(0L));
+        }
+        try (final Admin admin = Admin.create(
+                Map.of(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, this.kafkaCluster.bootstrapServers()))) {
+            for (int i = 0; i < this.numConnectors; i++) {
+                admin.alterConsumerGroupOffsets("connect-connector-" + i, offsets).all().get();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.kafka.common.TopicPartition;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class ResetManifestTest {
+    private static final String TOPIC = "offsets";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+    private static final byte[] VALUE = "{\"position\": 1}".getBytes();
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+    @TempDir
+    private Path tempDir;
+
+    private static PartitionRouter createRouter() {
+        final PartitionRouter router = PartitionRouter.builder()
+                .connectorPattern(Pattern.compile("connector-.*"))
+                .build();
+        router.handle("[\"connector-1\", 1]".getBytes(), VALUE);
+        router.handle("[\"connector-1\", 2]".getBytes(), VALUE);
+        router.handle("[\"connector-2\", 1]".getBytes(), VALUE);
+        router.handle("[\"other\", 1]".getBytes(), VALUE);
+        return router;
+    }
+
+    @Test
+    void shouldReadWrittenManifest() {
+        final Path file = this.tempDir.resolve("manifest");
+        ResetManifest.write(file, TOPIC, Map.of(PARTITION_0, 4L, PARTITION_1, 1L), createRouter().getCollectors());
+        final Map<String, List<byte[]>> keys = new LinkedHashMap<>();
+        try (final ResetManifest manifest = ResetManifest.open(file)) {
+            this.softly.assertThat(manifest.getTopic()).isEqualTo(TOPIC);
+            this.softly.assertThat(manifest.getEndOffsets())
+                    .containsExactlyInAnyOrderEntriesOf(Map.of(PARTITION_0, 4L, PARTITION_1, 1L));
+            manifest.forEachKey((connector, key) -> keys.computeIfAbsent(connector, name -> new ArrayList<>())
+                    .add(key));
+        }
+        this.softly.assertThat(keys).containsOnlyKeys("connector-1", "connector-2");
+        this.softly.assertThat(keys.get("connector-1"))
+                .containsExactlyInAnyOrder("[\"connector-1\", 1]".getBytes(), "[\"connector-1\", 2]".getBytes());
+        this.softly.assertThat(keys.get("connector-2"))
+                .containsExactlyInAnyOrder("[\"connector-2\", 1]".getBytes());
+    }
+
+    @Test
+    void shouldReadEmptyManifest() {
+        final Path file = this.tempDir.resolve("manifest");
+        ResetManifest.write(file, TOPIC, Map.of(PARTITION_0, 0L), List.of());
+        final List<byte[]> keys = new ArrayList<>();
+        try (final ResetManifest manifest = ResetManifest.open(file)) {
+            manifest.forEachKey((connector, key) -> keys.add(key));
+        }
+        this.softly.assertThat(keys).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnsupportedVersion() throws IOException {
+        final Path file = this.tempDir.resolve("manifest");
+        try (final OutputStream outputStream = Files.newOutputStream(file);
+                final DataOutputStream output = new DataOutputStream(outputStream)) {
+            output.writeInt(42);
+            output.writeUTF(TOPIC);
+        }
+        this.softly.assertThatThrownBy(() -> ResetManifest.open(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unsupported version 42");
+    }
+
+    @Test
+    void shouldFailOnMissingManifest() {
+        this.softly.assertThatThrownBy(() -> ResetManifest.open(this.tempDir.resolve("missing")))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class ResetMetricsTest {
+    private static final TopicPartition PARTITION_0 = new TopicPartition("offsets", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("offsets", 1);
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    @Test
+    void shouldCountRecordsAndTombstones() {
+        final ResetMetrics metrics = new ResetMetrics();
+        metrics.recordScanned(10);
+        metrics.recordScanned(5);
+        metrics.keyMatched();
+        metrics.tombstoneSent();
+        metrics.tombstoneSent();
+        metrics.tombstoneAcknowledged();
+        this.softly.assertThat(metrics.getRecordsScanned()).isEqualTo(2L);
+        this.softly.assertThat(metrics.getBytesRead()).isEqualTo(15L);
+        this.softly.assertThat(metrics.getKeysMatched()).isEqualTo(1L);
+        this.softly.assertThat(metrics.getTombstonesSent()).isEqualTo(2L);
+        this.softly.assertThat(metrics.getTombstonesAcknowledged()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldTrackLagPerPartition() {
+        final ResetMetrics metrics = new ResetMetrics();
+        metrics.updateLag(PARTITION_0, 10L);
+        metrics.updateLag(PARTITION_1, 5L);
+        metrics.updateLag(PARTITION_0, 3L);
+        this.softly.assertThat(metrics.getTotalLag()).isEqualTo(8L);
+        this.softly.assertThat(metrics.getLag())
+                .containsExactly(Map.entry("offsets-0", 3L), Map.entry("offsets-1", 5L));
+    }
+
+    @Test
+    void shouldTimePhases() {
+        final ResetMetrics metrics = new ResetMetrics();
+        final String result = metrics.time("scan", () -> "scanned");
+        metrics.time("produce", () -> { });
+        metrics.time("produce", () -> { });
+        this.softly.assertThat(result).isEqualTo("scanned");
+        this.softly.assertThat(metrics.getPhaseDurations()).containsOnlyKeys("produce", "scan");
+    }
+
+    @Test
+    void shouldTimeFailedPhase() {
+        final ResetMetrics metrics = new ResetMetrics();
+        this.softly.assertThatThrownBy(() -> metrics.time("scan", () -> {
+            throw new IllegalStateException("Failed");
+        })).isInstanceOf(IllegalStateException.class);
+        this.softly.assertThat(metrics.getPhaseDurations()).containsOnlyKeys("scan");
+    }
+
+    @Test
+    void shouldCreateSummary() {
+        final ResetMetrics metrics = new ResetMetrics();
+        metrics.recordScanned(1);
+        this.softly.assertThat(metrics.toSummary())
+                .containsEntry("recordsScanned", 1L)
+                .containsKeys("bytesRead", "keysMatched", "tombstonesSent", "tombstonesAcknowledged", "lag",
+                        "phaseDurationsMs");
+    }
+}
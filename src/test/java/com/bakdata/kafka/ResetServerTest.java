@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Map;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class ResetServerTest {
+    private static final String BROKERS = "localhost:9092";
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+    private ResetterClients clients;
+    private ResetServer server;
+
+    static HttpResponse<String> post(final ResetServer server, final String path, final String body)
+            throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(server, path)).POST(BodyPublishers.ofString(body)));
+    }
+
+    private static URI uri(final ResetServer server, final String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private static HttpResponse<String> send(final HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(request.build(), BodyHandlers.ofString());
+    }
+
+    @BeforeEach
+    void setup() throws IOException {
+        this.clients = new ResetterClients(Map.of(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, BROKERS));
+        this.server = ResetServer.start(new InetSocketAddress("localhost", 0), this.clients, BROKERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.close();
+        this.clients.close();
+    }
+
+    @Test
+    void shouldReportHealth() throws IOException, InterruptedException {
+        final HttpResponse<String> response = send(HttpRequest.newBuilder(uri(this.server, "/health")).GET());
+        this.softly.assertThat(response.statusCode()).isEqualTo(200);
+        this.softly.assertThat(response.body()).isEqualTo("OK\n");
+    }
+
+    @Test
+    void shouldRejectGetRequest() throws IOException, InterruptedException {
+        final HttpResponse<String> response = send(HttpRequest.newBuilder(uri(this.server, "/source")).GET());
+        this.softly.assertThat(response.statusCode()).isEqualTo(405);
+    }
+
+    @Test
+    void shouldRejectMalformedBody() throws IOException, InterruptedException {
+        final HttpResponse<String> response = this.post("/sink", "{\"connector\": \"my-connector\"}");
+        this.softly.assertThat(response.statusCode()).isEqualTo(400);
+        this.softly.assertThat(response.body()).contains("JSON array of arguments");
+    }
+
+    @Test
+    void shouldRejectMissingOption() throws IOException, InterruptedException {
+        final HttpResponse<String> response = this.post("/source", "[\"my-connector\"]");
+        this.softly.assertThat(response.statusCode()).isEqualTo(400);
+        this.softly.assertThat(response.body()).contains("--offset-topic");
+    }
+
+    @Test
+    void shouldRejectMissingConnectorSelection() throws IOException, InterruptedException {
+        final HttpResponse<String> response = this.post("/sink", "[]");
+        this.softly.assertThat(response.statusCode()).isEqualTo(400);
+        this.softly.assertThat(response.body())
+                .contains("Either connector names or a connector pattern need to be specified");
+    }
+
+    @Test
+    void shouldRejectInvalidOptionCombination() throws IOException, InterruptedException {
+        final HttpResponse<String> response =
+                this.post("/source", "[\"my-connector\", \"--offset-topic\", \"offsets\", \"--streaming\", "
+                        + "\"--dry-run\"]");
+        this.softly.assertThat(response.statusCode()).isEqualTo(400);
+        this.softly.assertThat(response.body()).contains("A dry run cannot be combined with streaming");
+    }
+
+    @Test
+    void shouldRejectFileOptions() throws IOException, InterruptedException {
+        final HttpResponse<String> response =
+                this.post("/source", "[\"my-connector\", \"--offset-topic\", \"offsets\", \"--backup-file\", "
+                        + "\"/etc/backup\"]");
+        this.softly.assertThat(response.statusCode()).isEqualTo(400);
+        this.softly.assertThat(response.body()).contains("Option --backup-file accesses files of the server");
+    }
+
+    @Test
+    void shouldRejectMetricsFile() throws IOException, InterruptedException {
+        final HttpResponse<String> response =
+                this.post("/sink", "[\"my-connector\", \"--metrics-file\", \"/etc/metrics.json\"]");
+        this.softly.assertThat(response.statusCode()).isEqualTo(400);
+        this.softly.assertThat(response.body()).contains("Option --metrics-file accesses files of the server");
+    }
+
+    private HttpResponse<String> post(final String path, final String body) throws IOException, InterruptedException {
+        return post(this.server, path, body);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.OffsetSpec.EarliestSpec;
+import org.apache.kafka.clients.admin.OffsetSpec.LatestSpec;
+import org.apache.kafka.clients.admin.OffsetSpec.TimestampSpec;
+import org.junit.jupiter.api.Test;
+
+class ResetTargetTest {
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @Test
+    void shouldParseEarliest() {
+        assertThat(ResetTarget.parse("earliest").toOffsetSpec(NOW)).isInstanceOf(EarliestSpec.class);
+        assertThat(ResetTarget.parse("EARLIEST")).isSameAs(ResetTarget.EARLIEST);
+    }
+
+    @Test
+    void shouldParseLatest() {
+        assertThat(ResetTarget.parse("latest").toOffsetSpec(NOW)).isInstanceOf(LatestSpec.class);
+    }
+
+    @Test
+    void shouldParseTimestamp() {
+        final OffsetSpec spec = ResetTarget.parse("2024-01-01T00:00:00Z").toOffsetSpec(NOW);
+        assertThat(spec).isInstanceOf(TimestampSpec.class);
+        assertThat(spec).hasFieldOrPropertyWithValue("timestamp",
+                Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    void shouldParseDurationBeforeNow() {
+        final OffsetSpec spec = ResetTarget.parse("PT1H").toOffsetSpec(NOW);
+        assertThat(spec).hasFieldOrPropertyWithValue("timestamp",
+                Instant.parse("2024-01-01T11:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    void shouldTreatNegativeDurationAsBeforeNow() {
+        final OffsetSpec spec = ResetTarget.parse("-PT30M").toOffsetSpec(NOW);
+        assertThat(spec).hasFieldOrPropertyWithValue("timestamp",
+                Instant.parse("2024-01-01T11:30:00Z").toEpochMilli());
+    }
+
+    @Test
+    void shouldRejectInvalidTarget() {
+        assertThatThrownBy(() -> ResetTarget.parse("yesterday"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid reset target 'yesterday'");
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 bakdata
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bakdata.kafka;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class SpillingKeySetTest {
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+    @TempDir
+    private Path tempDir;
+
+    private static byte[] bytes(final String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long countFiles(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void shouldKeepElementsInMemoryBelowThreshold() throws IOException {
+        final SpillingKeySet set = new SpillingKeySet(this.tempDir, 1024L);
+        this.softly.assertThat(set.add(bytes("foo"))).isTrue();
+        this.softly.assertThat(set.add(bytes("foo"))).isFalse();
+        this.softly.assertThat(set.add(bytes("bar"))).isTrue();
+        this.softly.assertThat(set.remove(bytes("bar"))).isTrue();
+        this.softly.assertThat(set.contains(bytes("foo"))).isTrue();
+        this.softly.assertThat(set)
+                .hasSize(1)
+                .containsExactly(bytes("foo"));
+        this.softly.assertThat(countFiles(this.tempDir)).isZero();
+    }
+
+    @Test
+    void shouldSpillAndMergeRuns() throws IOException {
+        final SpillingKeySet set = new SpillingKeySet(this.tempDir, 1000L);
+        IntStream.range(0, 1_000).forEach(i -> set.add(bytes("key-" + i)));
+        IntStream.range(0, 1_000).forEach(i -> set.add(bytes("key-" + i)));
+        this.softly.assertThat(countFiles(this.tempDir)).isPositive();
+        this.softly.assertThat(set).hasSize(1_000);
+        this.softly.assertThat(set.iterator()).toIterable()
+                .hasSize(1_000)
+                .contains(bytes("key-0"), bytes("key-999"));
+        this.softly.assertThat(countFiles(this.tempDir)).isOne();
+    }
+
+    @Test
+    void shouldApplyRemovalsAcrossRuns() {
+        final SpillingKeySet set = new SpillingKeySet(this.tempDir, 1000L);
+        IntStream.range(0, 100).forEach(i -> set.add(bytes("key-" + i)));
+        IntStream.range(100, 200).forEach(i -> set.add(bytes("other-" + i)));
+        IntStream.range(0, 100).filter(i -> i % 2 == 0).forEach(i -> set.remove(bytes("key-" + i)));
+        IntStream.range(100, 200).forEach(i -> set.add(bytes("other-" + i)));
+        set.add(bytes("key-0"));
+        this.softly.assertThat(set)
+                .hasSize(151)
+                .contains(bytes("key-0"), bytes("key-1"), bytes("other-100"))
+                .doesNotContain(bytes("key-2"));
+    }
+
+    @Test
+    void shouldAddAfterMerge() {
+        final SpillingKeySet set = new SpillingKeySet(this.tempDir, 100L);
+        List.of("foo", "bar", "baz").forEach(s -> set.add(bytes(s)));
+        this.softly.assertThat(set).hasSize(3);
+        set.add(bytes("qux"));
+        set.remove(bytes("foo"));
+        this.softly.assertThat(set)
+                .hasSize(3)
+                .containsExactlyInAnyOrder(bytes("bar"), bytes("baz"), bytes("qux"));
+    }
+
+    @Test
+    void shouldReadRunAgainAfterFailedForEach() {
+        final SpillingKeySet set = new SpillingKeySet(this.tempDir, 100L);
+        List.of("foo", "bar", "baz").forEach(s -> set.add(bytes(s)));
+        this.softly.assertThatThrownBy(() -> set.forEach(key -> {
+                    throw new IllegalStateException("Failed");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        final List<byte[]> keys = new ArrayList<>();
+        set.forEach(keys::add);
+        this.softly.assertThat(keys).containsExactly(bytes("bar"), bytes("baz"), bytes("foo"));
+    }
+
+    @Test
+    void shouldCollectPartitionsInSpillingSet() {
+        final PartitionCollector collector = PartitionCollector.builder()
+                .connectorName("my-connector")
+                .partitionStore(() -> new SpillingKeySet(this.tempDir, 100L))
+                .build();
+        final byte[] value = bytes("{\"position\": 1}");
+        IntStream.range(0, 10)
+                .forEach(i -> collector.update(OffsetKeyParser.parse(bytes("[\"my-connector\", " + i + "]")), value));
+        collector.update(OffsetKeyParser.parse(bytes("[\"my-connector\", 0]")), null);
+        this.softly.assertThat(collector.getPartitions())
+                .hasSize(9)
+                .doesNotContain(bytes("[\"my-connector\", 0]"));
+    }
+
+    @Test
+    void shouldDeleteDirectory() throws IOException {
+        final Path directory = Files.createTempDirectory(this.tempDir, "spill-");
+        final SpillingKeySet set = new SpillingKeySet(directory, 10L);
+        List.of("foo", "bar", "baz").forEach(s -> set.add(bytes(s)));
+        SpillingKeySet.deleteDirectory(directory);
+        this.softly.assertThat(directory).doesNotExist();
+    }
+}